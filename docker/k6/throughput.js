@@ -0,0 +1,48 @@
+// Comparação de vazão entre app.server.threads=platform e virtual.
+//
+//   SERVER_THREADS=platform mvn spring-boot:run   (depois SERVER_THREADS=virtual, em Java 21)
+//   docker-compose --profile loadtest run --rm k6
+//
+// Compare http_reqs (req/s) e http_req_duration{p(95)} de cada cenário entre as duas execuções.
+// Variáveis: BASE_URL, VUS (usuários simultâneos por cenário) e DURATION.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const VUS = Number(__ENV.VUS || 200);
+const DURATION = __ENV.DURATION || '1m';
+const CREDENTIALS = { email: 'carga@selfservice.local', password: 'carga12345' };
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export const options = {
+  scenarios: {
+    paged: { executor: 'constant-vus', exec: 'paged', vus: VUS, duration: DURATION },
+    login: { executor: 'constant-vus', exec: 'login', vus: VUS, duration: DURATION },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  // Cadastro idempotente: 400 (email já cadastrado) também serve
+  http.post(`${BASE_URL}/auth/register`,
+    JSON.stringify({ name: 'Teste de carga', ...CREDENTIALS }), { headers: JSON_HEADERS });
+  const response = http.post(`${BASE_URL}/auth/login`, JSON.stringify(CREDENTIALS), { headers: JSON_HEADERS });
+  return { token: response.json('token') };
+}
+
+export function paged(data) {
+  const page = Math.floor(Math.random() * 20);
+  const response = http.get(`${BASE_URL}/products/paged?page=${page}&size=20&count=estimated`, {
+    headers: { Authorization: `Bearer ${data.token}` },
+    tags: { name: 'products-paged' },
+  });
+  check(response, { 'paged 200': (r) => r.status === 200 });
+}
+
+export function login() {
+  const response = http.post(`${BASE_URL}/auth/login`, JSON.stringify(CREDENTIALS), {
+    headers: JSON_HEADERS,
+    tags: { name: 'auth-login' },
+  });
+  check(response, { 'login 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,3 @@
+#!/bin/sh
+# Permite que o serviço postgres-replica faça pg_basebackup e streaming replication
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -1,11 +1,22 @@
 package com.selfservice;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+import com.selfservice.infrastructure.cli.CatalogCommandRunner;
+
+// O R2DBC do catálogo reativo é configurado em ReactiveCatalogConfig, sem gerenciador de transações
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class SelfServiceApplication {
     public static void main(String[] args) {
-        SpringApplication.run(SelfServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(SelfServiceApplication.class);
+        if (CatalogCommandRunner.isCommand(args)) {
+            // Exportação/importação pela linha de comando: sem servidor HTTP
+            application.setWebApplicationType(WebApplicationType.NONE);
+        }
+        application.run(args);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.selfservice.application.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.selfservice.application.dto.common.PageResponseDTO;
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.infrastructure.cache.CatalogVersion;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.exception.ErrorResponse;
+import com.selfservice.infrastructure.exception.ResourceNotFoundException;
+import com.selfservice.infrastructure.pagination.CountMode;
+import com.selfservice.infrastructure.pagination.EstimatedPage;
+import com.selfservice.infrastructure.pagination.ProductCountEstimator;
+import com.selfservice.infrastructure.reactive.ReactiveProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Leituras do catálogo no servidor reativo: mesmos caminhos, parâmetros, ETags e formato de
+ * resposta de {@link ProductController}, para que o cliente não perceba qual pilha o atendeu.
+ * Os erros seguem o formato de {@code GlobalExceptionHandler}.
+ */
+@RequiredArgsConstructor
+public class ProductCatalogHandler {
+
+    private static final String JSON = "json";
+    private static final String NDJSON = "ndjson";
+
+    private final ReactiveProductRepository productRepository;
+    private final CatalogVersion catalogVersion;
+    private final ProductCountEstimator productCountEstimator;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/products", request -> request.headers().accept().stream()
+                        .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype), this::streamAll)
+                .GET("/products", this::findAll)
+                .GET("/products/paged", this::findAllPaged)
+                .GET("/products/{id}", this::findById)
+                .onError(ex -> ex instanceof BusinessException || ex instanceof IllegalArgumentException, this::error)
+                .build();
+    }
+
+    Mono<ServerResponse> findAll(ServerRequest request) {
+        String etag = catalogVersion.etag(JSON);
+        return conditional(request, etag, () -> ServerResponse.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(productRepository.findAll(), ProductResponseDTO.class));
+    }
+
+    Mono<ServerResponse> streamAll(ServerRequest request) {
+        String etag = catalogVersion.etag(NDJSON);
+        return conditional(request, etag, () -> ServerResponse.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(productRepository.findAll(), ProductResponseDTO.class));
+    }
+
+    Mono<ServerResponse> findAllPaged(ServerRequest request) {
+        String etag = catalogVersion.etag(JSON);
+        return conditional(request, etag, () -> {
+            ProductFilterDTO filter = new ProductFilterDTO();
+            filter.setSearch(request.queryParam("search").orElse(null));
+            filter.setName(request.queryParam("name").orElse(null));
+            filter.setDescription(request.queryParam("description").orElse(null));
+            filter.setMinPrice(request.queryParam("minPrice").map(BigDecimal::new).orElse(null));
+            filter.setMaxPrice(request.queryParam("maxPrice").map(BigDecimal::new).orElse(null));
+
+            int page = Integer.parseInt(request.queryParam("page").orElse("0"));
+            int size = Integer.parseInt(request.queryParam("size").orElse("10"));
+            Sort.Direction direction = Sort.Direction.fromString(
+                    request.queryParam("direction").orElse("ASC").toUpperCase());
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, request.queryParam("sort").orElse("name")));
+            CountMode countMode = CountMode.fromString(request.queryParam("count").orElse("exact"));
+
+            return page(filter, pageable, countMode)
+                    .flatMap(body -> ServerResponse.ok().eTag(etag).bodyValue(body));
+        });
+    }
+
+    Mono<ServerResponse> findById(ServerRequest request) {
+        return Mono.defer(() -> {
+            Long id = Long.valueOf(request.pathVariable("id"));
+            String etag = catalogVersion.etag(id);
+            return conditional(request, etag, () -> productRepository.findById(id)
+                    .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Product", id)))
+                    .flatMap(product -> ServerResponse.ok().eTag(etag).bodyValue(product)));
+        });
+    }
+
+    private Mono<PageResponseDTO<ProductResponseDTO>> page(
+            ProductFilterDTO filter, Pageable pageable, CountMode countMode) {
+        return switch (countMode) {
+            // Página e contagem em paralelo, cada uma na sua conexão
+            case EXACT -> productRepository.findAll(
+                            filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize()).collectList()
+                    .zipWith(productRepository.count(filter),
+                            (content, total) -> PageResponseDTO.of(new PageImpl<>(content, pageable, total), true));
+            // Mesma regra de ProductService: total exato na última página, estimado nas demais
+            case ESTIMATED -> slice(filter, pageable)
+                    .flatMap(slice -> (EstimatedPage.isExact(slice) ? Mono.just(0L) : estimate(filter))
+                            .map(total -> EstimatedPage.of(slice, () -> total)))
+                    .map(estimated -> PageResponseDTO.of(estimated, !(estimated instanceof EstimatedPage)));
+            case NONE -> slice(filter, pageable).map(PageResponseDTO::of);
+        };
+    }
+
+    /** Uma linha a mais revela se existe próxima página, sem COUNT. */
+    private Mono<Slice<ProductResponseDTO>> slice(ProductFilterDTO filter, Pageable pageable) {
+        int size = pageable.getPageSize();
+        return productRepository.findAll(filter, pageable.getSort(), pageable.getOffset(), size + 1).collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > size;
+                    List<ProductResponseDTO> content = hasNext ? rows.subList(0, size) : rows;
+                    return new SliceImpl<>(content, pageable, hasNext);
+                });
+    }
+
+    /**
+     * O mesmo {@link ProductCountEstimator} do Tomcat, com a mesma estimativa do planner e o
+     * mesmo cache de contagens por filtro. Ele usa JDBC, então roda fora do event loop.
+     */
+    private Mono<Long> estimate(ProductFilterDTO filter) {
+        return Mono.fromCallable(() -> productCountEstimator.estimate(filter))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Responde 304 quando o {@code If-None-Match} coincide com a versão atual, antes de
+     * executar a consulta. Erros de parâmetros viram sinais de erro, tratados em {@link #routes()}.
+     */
+    private static Mono<ServerResponse> conditional(
+            ServerRequest request, String etag, Supplier<Mono<ServerResponse>> response) {
+        return request.checkNotModified(etag)
+                .switchIfEmpty(Mono.defer(response));
+    }
+
+    private Mono<ServerResponse> error(Throwable ex, ServerRequest request) {
+        HttpStatus status = ex instanceof ResourceNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.uri().getRawPath())
+                .build();
+        return ServerResponse.status(status).bodyValue(error);
+    }
+}
@@ -1,16 +1,23 @@
 package com.selfservice.application.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -18,17 +25,38 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selfservice.application.dto.common.BulkResultDTO;
+import com.selfservice.application.dto.common.CursorPageResponseDTO;
 import com.selfservice.application.dto.common.PageResponseDTO;
+import com.selfservice.application.dto.product.ProductBulkUpdateDTO;
 import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductPatchDTO;
 import com.selfservice.application.dto.product.ProductRequestDTO;
 import com.selfservice.application.dto.product.ProductResponseDTO;
 import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.service.ProductBulkService;
 import com.selfservice.domain.service.ProductService;
+import com.selfservice.infrastructure.bulk.BulkItemReader;
+import com.selfservice.infrastructure.cache.CatalogVersion;
 import com.selfservice.infrastructure.mapper.ProductMapper;
+import com.selfservice.infrastructure.pagination.CountMode;
+import com.selfservice.infrastructure.pagination.EstimatedPage;
+import com.selfservice.infrastructure.pagination.ProductCursor;
+import com.selfservice.infrastructure.pagination.ProductFilterKey;
+import com.selfservice.infrastructure.pagination.ProductSortKey;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -41,24 +69,67 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Products", description = "API for product management")
 public class ProductController {
 
+    private static final String JSON = "json";
+    private static final String NDJSON = "ndjson";
+
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
     private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
 
     @GetMapping
     @Operation(summary = "List all products", description = "Returns a list of all products in the system")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of products")
-    public ResponseEntity<List<ProductResponseDTO>> findAll() {
-        return ResponseEntity.ok(
-            productService.findAll().stream()
-                .map(productMapper::toDTO)
-                .toList()
-        );
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved list of products"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag sent in If-None-Match")
+    })
+    public ResponseEntity<List<ProductResponseDTO>> findAll(WebRequest request) {
+        return conditional(request, catalogVersion.etag(JSON), productService::findAll);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all products", description = "Streams every product as newline-delimited JSON, one row at a time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully started streaming products"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag sent in If-None-Match")
+    })
+    public ResponseEntity<StreamingResponseBody> streamAll(WebRequest request) {
+        String etag = catalogVersion.etag(NDJSON);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ObjectWriter writer = objectMapper.writerFor(ProductResponseDTO.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                productService.streamAll(product -> {
+                    try {
+                        writer.writeValue(generator, productMapper.toDTO(product));
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .eTag(etag)
+                .body(body);
     }
 
     @GetMapping("/paged")
     @Operation(summary = "List products with pagination and filters", description = "Returns a filtered and paginated list of products")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered and paginated list of products")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered and paginated list of products"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag sent in If-None-Match")
+    })
     public ResponseEntity<PageResponseDTO<ProductResponseDTO>> findAllPaged(
+            @Parameter(description = "Busca textual em nome e descrição (full-text + similaridade)")
+            @RequestParam(required = false) String search,
+            
             @Parameter(description = "Filtrar por nome do produto")
             @RequestParam(required = false) String name,
             
@@ -77,13 +148,19 @@ public class ProductController {
             @Parameter(description = "Tamanho da página", example = "10")
             @RequestParam(defaultValue = "10") int size,
             
-            @Parameter(description = "Campo para ordenação", example = "name")
+            @Parameter(description = "Campo para ordenação; relevance ordena a busca textual pela relevância", example = "name")
             @RequestParam(defaultValue = "name") String sort,
             
             @Parameter(description = "Direção da ordenação (ASC ou DESC)", example = "ASC")
-            @RequestParam(defaultValue = "ASC") String direction) {
+            @RequestParam(defaultValue = "ASC") String direction,
+            
+            @Parameter(description = "Contagem do total: exact (COUNT completo), none (apenas hasNext) ou estimated (aproximado)", example = "exact")
+            @RequestParam(defaultValue = "exact") String count,
+            
+            WebRequest request) {
         
         ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch(search);
         filter.setName(name);
         filter.setDescription(description);
         filter.setMinPrice(minPrice);
@@ -92,33 +169,91 @@ public class ProductController {
         Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         
-        Page<Product> productPage = productService.findAll(filter, pageable);
-        
-        return ResponseEntity.ok(
-            PageResponseDTO.<ProductResponseDTO>builder()
-                .content(productPage.getContent().stream()
+        CountMode countMode = CountMode.fromString(count);
+        return conditional(request, catalogVersion.etag(JSON), () -> switch (countMode) {
+            case EXACT -> PageResponseDTO.of(productService.findAll(filter, pageable), true);
+            case ESTIMATED -> {
+                Page<ProductResponseDTO> estimated = productService.findAllEstimated(filter, pageable);
+                yield PageResponseDTO.of(estimated, !(estimated instanceof EstimatedPage));
+            }
+            case NONE -> PageResponseDTO.of(productService.findSlice(filter, pageable));
+        });
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "List products with cursor pagination and filters",
+            description = "Returns a filtered page of products after the given cursor; every page costs the same regardless of depth")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered page of products"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag sent in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort field")
+    })
+    public ResponseEntity<CursorPageResponseDTO<ProductResponseDTO>> findAllByCursor(
+            @Parameter(description = "Filtrar por nome do produto")
+            @RequestParam(required = false) String name,
+
+            @Parameter(description = "Filtrar por descrição do produto")
+            @RequestParam(required = false) String description,
+
+            @Parameter(description = "Filtrar por preço mínimo")
+            @RequestParam(required = false) BigDecimal minPrice,
+
+            @Parameter(description = "Filtrar por preço máximo")
+            @RequestParam(required = false) BigDecimal maxPrice,
+
+            @Parameter(description = "Token retornado em nextCursor pela página anterior; quando informado, define a ordenação")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Tamanho da página", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Campo para ordenação (id, name ou price)", example = "name")
+            @RequestParam(defaultValue = "name") String sort,
+
+            @Parameter(description = "Direção da ordenação (ASC ou DESC)", example = "ASC")
+            @RequestParam(defaultValue = "ASC") String direction,
+
+            WebRequest request) {
+
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName(name);
+        filter.setDescription(description);
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+
+        ProductCursor after = cursor != null ? ProductCursor.decode(cursor) : null;
+        ProductSortKey sortKey = after != null ? after.sortKey() : ProductSortKey.fromProperty(sort);
+        Sort.Direction sortDirection = after != null
+                ? after.direction()
+                : Sort.Direction.fromString(direction.toUpperCase());
+
+        return conditional(request, catalogVersion.etag(JSON), () -> {
+            Slice<Product> slice = productService.findAll(filter, sortKey, sortDirection, after, size);
+            List<Product> content = slice.getContent();
+            return CursorPageResponseDTO.<ProductResponseDTO>builder()
+                .content(content.stream()
                     .map(productMapper::toDTO)
                     .toList())
-                .pageNumber(productPage.getNumber())
-                .pageSize(productPage.getSize())
-                .totalElements(productPage.getTotalElements())
-                .totalPages(productPage.getTotalPages())
-                .first(productPage.isFirst())
-                .last(productPage.isLast())
-                .build()
-        );
+                .pageSize(size)
+                .hasNext(slice.hasNext())
+                .nextCursor(slice.hasNext()
+                    ? ProductCursor.after(sortKey, sortDirection, content.get(content.size() - 1),
+                            ProductFilterKey.of(filter)).encode()
+                    : null)
+                .build();
+        });
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a product by ID", description = "Returns a single product by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved product"),
+        @ApiResponse(responseCode = "304", description = "Product unchanged since the ETag sent in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
-    public ResponseEntity<ProductResponseDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(
-            productMapper.toDTO(productService.findById(id))
-        );
+    public ResponseEntity<ProductResponseDTO> findById(@PathVariable Long id, WebRequest request) {
+        return conditional(request, catalogVersion.etag(id),
+            () -> productService.findById(id));
     }
 
     @PostMapping
@@ -151,6 +286,60 @@ public class ProductController {
         );
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a product",
+            description = "Updates only the fields present in the body with a single UPDATE; omitted or null fields keep their values")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product successfully updated"),
+        @ApiResponse(responseCode = "404", description = "Product not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public ResponseEntity<ProductResponseDTO> patch(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductPatchDTO productDTO) {
+        return ResponseEntity.ok(
+            productMapper.toDTO(
+                productService.patch(id, productMapper.toEntity(productDTO))
+            )
+        );
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Create products in bulk",
+            description = "Reads a JSON array (or NDJSON) of products as a stream and inserts them in JDBC batches; each item gets its own result")
+    @ApiResponse(responseCode = "200", description = "Bulk load processed; see the per-item results")
+    public ResponseEntity<BulkResultDTO> createBulk(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+                    array = @ArraySchema(schema = @Schema(implementation = ProductRequestDTO.class))))
+            InputStream body) {
+        return ResponseEntity.ok(productBulkService.create(
+            new BulkItemReader<>(objectMapper.readerFor(ProductRequestDTO.class), body)));
+    }
+
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Update products in bulk",
+            description = "Reads a JSON array (or NDJSON) of products with their IDs as a stream and updates them in JDBC batches; each item gets its own result")
+    @ApiResponse(responseCode = "200", description = "Bulk update processed; see the per-item results")
+    public ResponseEntity<BulkResultDTO> updateBulk(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+                    array = @ArraySchema(schema = @Schema(implementation = ProductBulkUpdateDTO.class))))
+            InputStream body) {
+        return ResponseEntity.ok(productBulkService.update(
+            new BulkItemReader<>(objectMapper.readerFor(ProductBulkUpdateDTO.class), body)));
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Delete products in bulk",
+            description = "Reads a JSON array (or NDJSON) of product IDs as a stream and deletes them in batches; each ID gets its own result")
+    @ApiResponse(responseCode = "200", description = "Bulk delete processed; see the per-item results")
+    public ResponseEntity<BulkResultDTO> deleteBulk(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+                    array = @ArraySchema(schema = @Schema(implementation = Long.class))))
+            InputStream body) {
+        return ResponseEntity.ok(productBulkService.delete(
+            new BulkItemReader<>(objectMapper.readerFor(Long.class), body)));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a product", description = "Deletes a product from the system by its ID")
     @ApiResponses(value = {
@@ -161,4 +350,15 @@ public class ProductController {
         productService.delete(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Responde 304 quando o {@code If-None-Match} coincide com a versão atual, antes de
+     * executar a consulta ou serializar qualquer coisa.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+}
@@ -0,0 +1,75 @@
+package com.selfservice.application.controller;
+
+import java.math.BigDecimal;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.domain.service.ProductExportService;
+import com.selfservice.infrastructure.export.ExportFormat;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/products/export")
+@RequiredArgsConstructor
+@Tag(name = "Products", description = "API for product management")
+public class ProductExportController {
+
+    private final ProductExportService productExportService;
+
+    @GetMapping
+    @Operation(summary = "Export the product catalog",
+            description = "Streams every product matching the filters, ordered by id, as CSV or Arrow IPC. "
+                    + "No paging and no count query: the rows come straight from COPY TO STDOUT")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catalog streamed"),
+        @ApiResponse(responseCode = "400", description = "Unknown export format")
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Formato da exportação: csv ou arrow")
+            @RequestParam(defaultValue = "csv") String format,
+
+            @Parameter(description = "Busca textual em nome e descrição")
+            @RequestParam(required = false) String search,
+
+            @Parameter(description = "Filtrar por nome do produto")
+            @RequestParam(required = false) String name,
+
+            @Parameter(description = "Filtrar por descrição do produto")
+            @RequestParam(required = false) String description,
+
+            @Parameter(description = "Filtrar por preço mínimo")
+            @RequestParam(required = false) BigDecimal minPrice,
+
+            @Parameter(description = "Filtrar por preço máximo")
+            @RequestParam(required = false) BigDecimal maxPrice) {
+
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch(search);
+        filter.setName(name);
+        filter.setDescription(description);
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = outputStream -> productExportService.export(filter, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.extension()).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,100 @@
+package com.selfservice.application.controller;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.selfservice.application.dto.product.ProductImportStatusDTO;
+import com.selfservice.domain.service.ProductImportService;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.exception.ResourceNotFoundException;
+import com.selfservice.infrastructure.importer.ImportFormat;
+import com.selfservice.infrastructure.importer.ProductImportJob;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/products/import")
+@RequiredArgsConstructor
+@Tag(name = "Products", description = "API for product management")
+public class ProductImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ProductImportService productImportService;
+
+    @PostMapping(consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Import a product catalog file",
+            description = "Loads a CSV or NDJSON file through a staging table and a single upsert. "
+                    + "Runs in the background; follow the progress through the returned location")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import accepted"),
+        @ApiResponse(responseCode = "400", description = "Unknown file format")
+    })
+    public ResponseEntity<ProductImportStatusDTO> importProducts(
+            @Parameter(description = "Formato do arquivo (csv ou ndjson); por padrão, deduzido do Content-Type")
+            @RequestParam(required = false) String format,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Arquivo CSV (com cabeçalho) ou NDJSON",
+                    content = @Content(mediaType = TEXT_CSV, schema = @Schema(type = "string", format = "binary")))
+            InputStream body) {
+        ImportFormat importFormat = format != null ? ImportFormat.of(format) : ImportFormat.of(contentType);
+        if (importFormat == null) {
+            throw new BusinessException("Informe o formato do arquivo (csv ou ndjson) pelo Content-Type ou pelo parâmetro format");
+        }
+        ProductImportJob job = productImportService.submit(body, importFormat);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQuery(null).path("/{id}").buildAndExpand(job.getId()).toUri();
+        return ResponseEntity.accepted().location(location).body(ProductImportStatusDTO.of(job));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import progress", description = "Returns the status and counters of an import")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import found"),
+        @ApiResponse(responseCode = "404", description = "Import not found or expired")
+    })
+    public ResponseEntity<ProductImportStatusDTO> findById(
+            @Parameter(description = "ID da importação") @PathVariable String id) {
+        return ResponseEntity.ok(ProductImportStatusDTO.of(productImportService.find(id)));
+    }
+
+    @GetMapping(value = "/{id}/rejects", produces = TEXT_CSV)
+    @Operation(summary = "Download rejected records",
+            description = "Returns a CSV with the line, the reason and the original content of each rejected record")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rejected records"),
+        @ApiResponse(responseCode = "404", description = "Import not found or expired")
+    })
+    public ResponseEntity<Resource> findRejects(
+            @Parameter(description = "ID da importação") @PathVariable String id) {
+        ProductImportJob job = productImportService.find(id);
+        if (!Files.exists(job.getRejectFile())) {
+            throw new ResourceNotFoundException("A importação " + id + " ainda não começou");
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getId() + "-rejects.csv\"")
+                .body(new FileSystemResource(job.getRejectFile()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.selfservice.application.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado de um item de uma operação em massa")
+public class BulkItemResultDTO {
+
+    @Schema(description = "Posição do item no corpo da requisição (começa em 0)", example = "0")
+    private int index;
+
+    @Schema(description = "ID do produto afetado", example = "1")
+    private Long id;
+
+    @Schema(description = "Situação do item", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "Motivo da falha, quando houver", example = "price: O preço deve ser maior que zero")
+    private String message;
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID, FAILED;
+
+        public boolean isSuccess() {
+            return this == CREATED || this == UPDATED || this == DELETED;
+        }
+    }
+
+    public static BulkItemResultDTO of(int index, Long id, Status status) {
+        return BulkItemResultDTO.builder().index(index).id(id).status(status).build();
+    }
+
+    public static BulkItemResultDTO failure(int index, Long id, Status status, String message) {
+        return BulkItemResultDTO.builder().index(index).id(id).status(status).message(message).build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.selfservice.application.dto.common;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumo de uma operação em massa, com o resultado de cada item")
+public class BulkResultDTO {
+
+    @Schema(description = "Quantidade de itens recebidos", example = "1000")
+    private int total;
+
+    @Schema(description = "Itens aplicados com sucesso", example = "998")
+    private int succeeded;
+
+    @Schema(description = "Itens rejeitados", example = "2")
+    private int failed;
+
+    @Schema(description = "Resultado de cada item, na ordem do corpo da requisição")
+    private List<BulkItemResultDTO> items;
+
+    public static BulkResultDTO of(List<BulkItemResultDTO> items) {
+        int succeeded = (int) items.stream().filter(item -> item.getStatus().isSuccess()).count();
+        return BulkResultDTO.builder()
+                .total(items.size())
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .items(items)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.selfservice.application.dto.common;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resposta paginada por cursor")
+public class CursorPageResponseDTO<T> {
+
+    @Schema(description = "Lista de itens da página atual")
+    private List<T> content;
+
+    @Schema(description = "Tamanho da página", example = "10")
+    private int pageSize;
+
+    @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Token opaco para buscar a próxima página; nulo na última página",
+            example = "TkFNRXxBU0N8NDJ8UGl6emE")
+    private String nextCursor;
+}
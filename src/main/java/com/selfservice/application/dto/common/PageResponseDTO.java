@@ -2,6 +2,11 @@ package com.selfservice.application.dto.common;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +17,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Resposta paginada genérica")
 public class PageResponseDTO<T> {
     
@@ -24,15 +30,48 @@ public class PageResponseDTO<T> {
     @Schema(description = "Tamanho da página", example = "10")
     private int pageSize;
     
-    @Schema(description = "Total de elementos", example = "100")
-    private long totalElements;
+    @Schema(description = "Total de elementos; ausente quando a contagem foi dispensada", example = "100")
+    private Long totalElements;
+    
+    @Schema(description = "Total de páginas; ausente quando a contagem foi dispensada", example = "10")
+    private Integer totalPages;
     
-    @Schema(description = "Total de páginas", example = "10")
-    private int totalPages;
+    @Schema(description = "Indica se totalElements é exato (true) ou aproximado (false); ausente sem contagem", example = "true")
+    private Boolean totalExact;
     
     @Schema(description = "Indica se é a primeira página", example = "true")
     private boolean first;
     
     @Schema(description = "Indica se é a última página", example = "false")
     private boolean last;
-} 
\ No newline at end of file
+    
+    @Schema(description = "Indica se existe próxima página", example = "true")
+    private boolean hasNext;
+
+    /** Página com total; {@code exact} indica se o total veio de um COUNT completo. */
+    public static <T> PageResponseDTO<T> of(Page<T> page, boolean exact) {
+        return PageResponseDTO.<T>builder()
+                .content(page.getContent())
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .totalExact(exact)
+                .first(page.isFirst())
+                .last(page.isLast())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
+    /** Página sem total, apenas com a indicação de próxima página. */
+    public static <T> PageResponseDTO<T> of(Slice<T> slice) {
+        return PageResponseDTO.<T>builder()
+                .content(slice.getContent())
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+}
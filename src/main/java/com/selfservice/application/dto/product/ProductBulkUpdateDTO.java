@@ -0,0 +1,16 @@
+package com.selfservice.application.dto.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "Item de atualização em massa: o ID do produto e os novos dados")
+public class ProductBulkUpdateDTO extends ProductRequestDTO {
+
+    @NotNull(message = "O ID é obrigatório")
+    @Schema(description = "ID do produto a atualizar", example = "1")
+    private Long id;
+}
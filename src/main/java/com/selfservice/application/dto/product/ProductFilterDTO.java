@@ -9,6 +9,9 @@ import lombok.Data;
 @Schema(description = "Critérios de filtro para busca de produtos")
 public class ProductFilterDTO {
     
+    @Schema(description = "Busca textual em nome e descrição, ordenável por relevância", example = "pizza calabresa")
+    private String search;
+    
     @Schema(description = "Filtrar por nome do produto", example = "Pizza")
     private String name;
     
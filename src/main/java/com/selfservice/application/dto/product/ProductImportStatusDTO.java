@@ -0,0 +1,75 @@
+package com.selfservice.application.dto.product;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.selfservice.infrastructure.importer.ImportFormat;
+import com.selfservice.infrastructure.importer.ProductImportJob;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Situação e progresso de uma importação de catálogo")
+public class ProductImportStatusDTO {
+
+    @Schema(description = "ID da importação", example = "4f1c2d3e-5a6b-4c7d-8e9f-0a1b2c3d4e5f")
+    private String id;
+
+    @Schema(description = "Formato do arquivo", example = "CSV")
+    private ImportFormat format;
+
+    @Schema(description = "Etapa atual", example = "LOADING")
+    private ProductImportJob.Status status;
+
+    @Schema(description = "Registros lidos até agora", example = "250000")
+    private long read;
+
+    @Schema(description = "Registros válidos enviados à staging", example = "249990")
+    private long accepted;
+
+    @Schema(description = "Registros recusados, gravados no arquivo de rejeitados", example = "10")
+    private long rejected;
+
+    @Schema(description = "Produtos criados (ao concluir)", example = "200000")
+    private long inserted;
+
+    @Schema(description = "Produtos atualizados (ao concluir)", example = "49990")
+    private long updated;
+
+    @Schema(description = "Motivo da falha, quando houver")
+    private String error;
+
+    @Schema(description = "Momento em que a importação foi recebida")
+    private Instant createdAt;
+
+    @Schema(description = "Momento em que o processamento começou")
+    private Instant startedAt;
+
+    @Schema(description = "Momento em que o processamento terminou")
+    private Instant finishedAt;
+
+    public static ProductImportStatusDTO of(ProductImportJob job) {
+        return ProductImportStatusDTO.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .read(job.getRead().get())
+                .accepted(job.getAccepted().get())
+                .rejected(job.getRejected().get())
+                .inserted(job.getInserted())
+                .updated(job.getUpdated())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.selfservice.application.dto.product;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@Schema(description = "Atualização parcial de um produto: campos omitidos ou nulos mantêm o valor atual")
+public class ProductPatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, message = "O nome não pode ficar em branco")
+    @Size(max = 255, message = "O nome deve ter no máximo 255 caracteres")
+    @Schema(description = "Nome do produto", example = "Pizza Margherita")
+    private String name;
+
+    @Size(max = 255, message = "A descrição deve ter no máximo 255 caracteres")
+    @Schema(description = "Descrição detalhada do produto", example = "Pizza tradicional italiana com molho de tomate, muçarela e manjericão")
+    private String description;
+
+    @Positive(message = "O preço deve ser maior que zero")
+    @Schema(description = "Preço do produto", example = "45.90")
+    private BigDecimal price;
+}
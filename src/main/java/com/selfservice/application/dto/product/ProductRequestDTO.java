@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
@@ -13,9 +14,11 @@ import lombok.Data;
 public class ProductRequestDTO {
     
     @NotBlank(message = "O nome é obrigatório")
+    @Size(max = 255, message = "O nome deve ter no máximo 255 caracteres")
     @Schema(description = "Nome do produto", example = "Pizza Margherita")
     private String name;
     
+    @Size(max = 255, message = "A descrição deve ter no máximo 255 caracteres")
     @Schema(description = "Descrição detalhada do produto", example = "Pizza tradicional italiana com molho de tomate, muçarela e manjericão")
     private String description;
     
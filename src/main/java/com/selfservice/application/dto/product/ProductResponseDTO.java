@@ -3,9 +3,13 @@ package com.selfservice.application.dto.product;
 import java.math.BigDecimal;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Dados de retorno de um produto")
 public class ProductResponseDTO {
     
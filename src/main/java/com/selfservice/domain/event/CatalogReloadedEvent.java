@@ -0,0 +1,11 @@
+package com.selfservice.domain.event;
+
+/**
+ * Publicado quando o catálogo muda em bloco, fora das escritas por produto (por
+ * exemplo, numa importação via {@code COPY}). Índices e caches derivados devem ser
+ * reconstruídos ou descartados por inteiro.
+ *
+ * @param affectedRows quantidade de produtos inseridos ou atualizados
+ */
+public record CatalogReloadedEvent(long affectedRows) {
+}
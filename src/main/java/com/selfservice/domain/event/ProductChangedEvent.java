@@ -0,0 +1,25 @@
+package com.selfservice.domain.event;
+
+import com.selfservice.domain.entity.Product;
+
+/**
+ * Publicado pelo {@code ProductService} após cada escrita de produto, para que
+ * índices e caches derivados do catálogo se atualizem incrementalmente.
+ *
+ * @param productId id do produto alterado
+ * @param product   estado atual do produto, ou {@code null} quando ele foi removido
+ */
+public record ProductChangedEvent(Long productId, Product product) {
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
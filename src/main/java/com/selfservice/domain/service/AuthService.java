@@ -1,6 +1,7 @@
 package com.selfservice.domain.service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Set;
 
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,10 +17,12 @@ import com.selfservice.application.dto.auth.RegisterRequestDTO;
 import com.selfservice.application.dto.auth.UpdateUserRequestDTO;
 import com.selfservice.domain.entity.Role;
 import com.selfservice.domain.entity.User;
+import com.selfservice.infrastructure.cache.UserCache;
 import com.selfservice.infrastructure.exception.BusinessException;
 import com.selfservice.infrastructure.exception.ResourceNotFoundException;
 import com.selfservice.infrastructure.repository.UserRepository;
 import com.selfservice.infrastructure.security.JwtTokenProvider;
+import com.selfservice.infrastructure.security.TokenRevocationList;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +34,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final UserCache userCache;
+    private final TokenRevocationList revocationList;
 
     @Transactional
     public AuthResponseDTO register(RegisterRequestDTO request) {
@@ -49,6 +54,8 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        // O email pode estar no cache de ausentes por uma tentativa de login anterior
+        userCache.evict(user.getEmail());
 
         String token = tokenProvider.generateToken(user);
 
@@ -77,6 +84,17 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Revoga o token até a sua expiração. Um token inválido, expirado ou sem {@code jti}
+     * não tem o que revogar e é ignorado.
+     */
+    public void logout(String token) {
+        tokenProvider.parseClaims(token)
+                .filter(claims -> claims.getId() != null)
+                .ifPresent(claims -> revocationList.revoke(claims.getId(),
+                        LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault())));
+    }
+
     @Transactional
     public AuthResponseDTO updateUser(Long userId, UpdateUserRequestDTO request) {
         User user = userRepository.findById(userId)
@@ -88,6 +106,7 @@ public class AuthService {
             throw new BusinessException("Email já cadastrado");
         }
 
+        String previousEmail = user.getEmail();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
         
@@ -97,6 +116,8 @@ public class AuthService {
         
         user.setUpdatedAt(LocalDateTime.now());
         user = userRepository.save(user);
+        // Email antigo e novo: o novo pode estar no cache de ausentes
+        userCache.evict(previousEmail, user.getEmail());
 
         String token = tokenProvider.generateToken(user);
 
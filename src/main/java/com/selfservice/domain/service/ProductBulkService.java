@@ -0,0 +1,225 @@
+package com.selfservice.domain.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selfservice.application.dto.common.BulkItemResultDTO;
+import com.selfservice.application.dto.common.BulkItemResultDTO.Status;
+import com.selfservice.application.dto.common.BulkResultDTO;
+import com.selfservice.application.dto.product.ProductBulkUpdateDTO;
+import com.selfservice.application.dto.product.ProductRequestDTO;
+import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.bulk.BulkItem;
+import com.selfservice.infrastructure.cache.ProductCache;
+import com.selfservice.infrastructure.mapper.ProductMapper;
+import com.selfservice.infrastructure.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Criação, atualização e remoção de produtos em massa.
+ *
+ * <p>Os itens são consumidos conforme chegam e gravados em lotes de
+ * {@code app.bulk.batch-size}, cada lote numa transação própria, de modo que o
+ * Hibernate agrupe os comandos em lotes JDBC. Itens inválidos são rejeitados antes
+ * de chegar ao banco; se mesmo assim um lote falhar, ele é refeito item a item para
+ * que só o item problemático seja rejeitado.
+ */
+@Slf4j
+@Service
+public class ProductBulkService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ProductBulkService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            ProductCache productCache,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.bulk.batch-size:50}") int batchSize) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productCache = productCache;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public BulkResultDTO create(Iterator<BulkItem<ProductRequestDTO>> items) {
+        return process(items, item -> null, this::insert);
+    }
+
+    public BulkResultDTO update(Iterator<BulkItem<ProductBulkUpdateDTO>> items) {
+        return process(items, ProductBulkUpdateDTO::getId, this::apply);
+    }
+
+    public BulkResultDTO delete(Iterator<BulkItem<Long>> ids) {
+        return process(ids, Function.identity(), this::remove);
+    }
+
+    private <T> BulkResultDTO process(Iterator<BulkItem<T>> items, Function<T, Long> idOf,
+            Function<List<BulkItem<T>>, List<Written>> writer) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<BulkItem<T>> chunk = new ArrayList<>(batchSize);
+        while (items.hasNext()) {
+            BulkItem<T> item = items.next();
+            String error = item.error() != null ? item.error() : validate(item.value());
+            if (error != null) {
+                Long id = item.value() != null ? idOf.apply(item.value()) : null;
+                results.add(BulkItemResultDTO.failure(item.index(), id, Status.INVALID, error));
+                continue;
+            }
+            chunk.add(item);
+            if (chunk.size() == batchSize) {
+                write(chunk, idOf, writer, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, idOf, writer, results);
+        }
+        // Itens inválidos são respondidos antes dos lotes; devolve na ordem do corpo
+        results.sort(Comparator.comparingInt(BulkItemResultDTO::getIndex));
+        return BulkResultDTO.of(results);
+    }
+
+    private <T> void write(List<BulkItem<T>> chunk, Function<T, Long> idOf,
+            Function<List<BulkItem<T>>, List<Written>> writer, List<BulkItemResultDTO> results) {
+        try {
+            publish(execute(chunk, writer), results);
+        } catch (RuntimeException ex) {
+            // No Postgres um comando com erro invalida o lote inteiro: refaz item a item para isolá-lo
+            log.warn("Lote em massa com {} itens falhou; reprocessando item a item", chunk.size(), ex);
+            for (BulkItem<T> item : chunk) {
+                try {
+                    publish(execute(List.of(item), writer), results);
+                } catch (RuntimeException itemEx) {
+                    results.add(BulkItemResultDTO.failure(item.index(), idOf.apply(item.value()), Status.FAILED,
+                            NestedExceptionUtils.getMostSpecificCause(itemEx).getMessage()));
+                }
+            }
+        }
+    }
+
+    private <T> List<Written> execute(List<BulkItem<T>> chunk, Function<List<BulkItem<T>>, List<Written>> writer) {
+        return transactionTemplate.execute(status -> {
+            List<Written> written = writer.apply(chunk);
+            entityManager.flush();
+            // Mantém o contexto de persistência do tamanho de um lote
+            entityManager.clear();
+            return written;
+        });
+    }
+
+    /** Só depois do commit: índices e caches não devem ver escritas que voltaram atrás. */
+    private void publish(List<Written> written, List<BulkItemResultDTO> results) {
+        for (Written item : written) {
+            if (item.event() != null) {
+                productCache.evict(item.event().productId());
+                eventPublisher.publishEvent(item.event());
+            }
+            results.add(item.result());
+        }
+    }
+
+    private List<Written> insert(List<BulkItem<ProductRequestDTO>> chunk) {
+        List<Written> written = new ArrayList<>(chunk.size());
+        for (BulkItem<ProductRequestDTO> item : chunk) {
+            Product product = productMapper.toEntity(item.value());
+            // O id sai do bloco pré-alocado da sequência; o INSERT fica para o flush em lote
+            entityManager.persist(product);
+            written.add(new Written(BulkItemResultDTO.of(item.index(), product.getId(), Status.CREATED),
+                    ProductChangedEvent.saved(product)));
+        }
+        return written;
+    }
+
+    private List<Written> apply(List<BulkItem<ProductBulkUpdateDTO>> chunk) {
+        Set<Long> ids = chunk.stream().map(item -> item.value().getId()).collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<Written> written = new ArrayList<>(chunk.size());
+        for (BulkItem<ProductBulkUpdateDTO> item : chunk) {
+            ProductBulkUpdateDTO dto = item.value();
+            Product product = products.get(dto.getId());
+            if (product == null) {
+                written.add(new Written(BulkItemResultDTO.failure(item.index(), dto.getId(), Status.NOT_FOUND,
+                        "Produto não encontrado"), null));
+                continue;
+            }
+            // Substitui todos os campos, como o PUT de um único produto
+            product.setName(dto.getName());
+            product.setDescription(dto.getDescription());
+            product.setPrice(dto.getPrice());
+            written.add(new Written(BulkItemResultDTO.of(item.index(), dto.getId(), Status.UPDATED),
+                    ProductChangedEvent.saved(product)));
+        }
+        return written;
+    }
+
+    private List<Written> remove(List<BulkItem<Long>> chunk) {
+        Set<Long> ids = chunk.stream().map(BulkItem::value).collect(Collectors.toSet());
+        Set<Long> existing = Set.copyOf(productRepository.findExistingIds(ids));
+        if (!existing.isEmpty()) {
+            productRepository.deleteAllByIdInBatch(existing);
+        }
+
+        List<Written> written = new ArrayList<>(chunk.size());
+        for (BulkItem<Long> item : chunk) {
+            Long id = item.value();
+            written.add(existing.contains(id)
+                    ? new Written(BulkItemResultDTO.of(item.index(), id, Status.DELETED), ProductChangedEvent.deleted(id))
+                    : new Written(BulkItemResultDTO.failure(item.index(), id, Status.NOT_FOUND,
+                            "Produto não encontrado"), null));
+        }
+        return written;
+    }
+
+    private String validate(Object value) {
+        if (value == null) {
+            return "Item vazio";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /** Resultado de um item e o evento a publicar depois do commit. */
+    private record Written(BulkItemResultDTO result, ProductChangedEvent event) {
+    }
+}
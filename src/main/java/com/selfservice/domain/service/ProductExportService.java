@@ -0,0 +1,72 @@
+package com.selfservice.domain.service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.stereotype.Service;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.infrastructure.export.ArrowProductWriter;
+import com.selfservice.infrastructure.export.ExportFormat;
+import com.selfservice.infrastructure.export.ProductExportQuery;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportação do catálogo inteiro (ou filtrado) com {@code COPY ... TO STDOUT}, sem
+ * paginação, contagem ou entidades: o CSV sai do Postgres direto para o destino, e o
+ * Arrow é montado a partir do formato binário do {@code COPY} em buffers de coluna.
+ */
+@Slf4j
+@Service
+public class ProductExportService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final int arrowBatchRows;
+
+    public ProductExportService(
+            DataSource dataSource,
+            @Value("${app.export.arrow.batch-rows:32768}") int arrowBatchRows) {
+        this.dataSource = dataSource;
+        this.arrowBatchRows = arrowBatchRows;
+    }
+
+    /** Escreve a exportação em {@code out}, sem fechá-lo, e devolve a quantidade de produtos. */
+    public long export(ProductFilterDTO filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            boolean standardConformingStrings =
+                    connection.unwrap(BaseConnection.class).getStandardConformingStrings();
+            long rows = switch (format) {
+                case CSV -> pgConnection.getCopyAPI()
+                        .copyOut(ProductExportQuery.csv(filter, standardConformingStrings), out);
+                case ARROW -> {
+                    String sql = ProductExportQuery.binary(filter, standardConformingStrings);
+                    try (DataInputStream copy = new DataInputStream(new BufferedInputStream(
+                            new PGCopyInputStream(pgConnection, sql), COPY_BUFFER_SIZE))) {
+                        yield new ArrowProductWriter(out, arrowBatchRows).write(copy);
+                    }
+                }
+            };
+            out.flush();
+            log.info("Exportação {} concluída com {} produtos", format, rows);
+            return rows;
+        } catch (SQLException ex) {
+            throw new DataRetrievalFailureException("Falha ao exportar o catálogo", ex);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.selfservice.domain.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.infrastructure.cache.ProductCache;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.exception.ResourceNotFoundException;
+import com.selfservice.infrastructure.importer.ImportFormat;
+import com.selfservice.infrastructure.importer.ImportRecordReader;
+import com.selfservice.infrastructure.importer.ImportRecordReader.ImportRecord;
+import com.selfservice.infrastructure.importer.ProductImportJob;
+import com.selfservice.infrastructure.importer.ProductImportParser;
+import com.selfservice.infrastructure.importer.ProductImportParser.ParsedBatch;
+import com.selfservice.infrastructure.importer.ProductImportParser.Rejected;
+import com.selfservice.infrastructure.importer.ProductStagingLoader;
+import com.selfservice.infrastructure.importer.ProductStagingLoader.MergeResult;
+import com.selfservice.infrastructure.importer.RejectFileWriter;
+import com.selfservice.infrastructure.jpa.SecondLevelCacheInvalidator;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importação de catálogo em grande volume (CSV ou NDJSON), pensada para as cargas
+ * noturnas de fornecedores.
+ *
+ * <p>O arquivo é lido em sequência e dividido em lotes de {@code app.import.batch-size}
+ * registros, que são convertidos e validados em paralelo. Os lotes voltam na ordem de
+ * leitura e vão direto para um {@code COPY} numa tabela de staging temporária; com no
+ * máximo {@code 2 * parallelism} lotes em andamento, a memória usada não depende do
+ * tamanho do arquivo. Ao fim, um único upsert leva a staging para {@code product}: linhas
+ * com id atualizam o produto, linhas sem id criam produtos novos. Um id que não existe é
+ * recusado: ids de produtos novos vêm sempre da sequência.
+ * Tudo roda numa transação só, então uma falha não deixa o catálogo pela metade.
+ *
+ * <p>Registros inválidos não interrompem a carga: vão para o arquivo de rejeitados do job.
+ * Como as escritas não passam pelo {@code ProductService}, ao terminar é publicado um
+ * {@link CatalogReloadedEvent} para que índices e caches sejam refeitos.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final DataSource dataSource;
+    private final ProductStagingLoader stagingLoader;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductCache productCache;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int parallelism;
+    private final Path workDirectory;
+    private final ExecutorService jobs;
+    private final ExecutorService parsers;
+    private final Cache<String, ProductImportJob> history;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public ProductImportService(
+            DataSource dataSource,
+            ProductStagingLoader stagingLoader,
+            ObjectMapper objectMapper,
+            Validator validator,
+            ProductCache productCache,
+            SecondLevelCacheInvalidator cacheInvalidator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.import.batch-size:1000}") int batchSize,
+            @Value("${app.import.parallelism:0}") int parallelism,
+            @Value("${app.import.work-dir:${java.io.tmpdir}/product-import}") Path workDirectory,
+            @Value("${app.import.retention:1d}") Duration retention) {
+        this.dataSource = dataSource;
+        this.stagingLoader = stagingLoader;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.productCache = productCache;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.workDirectory = workDirectory;
+        this.jobs = Executors.newSingleThreadExecutor(named("product-import"));
+        this.parsers = Executors.newFixedThreadPool(this.parallelism, named("product-import-parser"));
+        this.history = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .<String, ProductImportJob>removalListener((id, job, cause) -> {
+                    if (job != null && cause != RemovalCause.REPLACED) {
+                        deleteQuietly(job.getRejectFile());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Grava o corpo num arquivo de trabalho e agenda a importação, devolvendo o job para
+     * acompanhamento. O arquivo é apagado ao fim do processamento.
+     */
+    public ProductImportJob submit(InputStream body, ImportFormat format) {
+        ProductImportJob job;
+        try {
+            Files.createDirectories(workDirectory);
+            Path file = Files.createTempFile(workDirectory, "import-", "." + format.name().toLowerCase());
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            job = new ProductImportJob(format, file, workDirectory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        history.put(job.getId(), job);
+        jobs.execute(() -> {
+            try {
+                run(job);
+            } finally {
+                deleteQuietly(job.getFile());
+            }
+        });
+        return job;
+    }
+
+    /** Importa um arquivo local na thread atual, sem apagá-lo ao fim. */
+    public ProductImportJob importFile(Path file, ImportFormat format) {
+        try {
+            Files.createDirectories(workDirectory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        ProductImportJob job = new ProductImportJob(format, file, workDirectory);
+        history.put(job.getId(), job);
+        run(job);
+        return job;
+    }
+
+    public ProductImportJob find(String id) {
+        ProductImportJob job = history.getIfPresent(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Importação não encontrada: " + id);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdownNow();
+        parsers.shutdownNow();
+    }
+
+    private void run(ProductImportJob job) {
+        // Uma importação por vez, venha da API ou de importFile: duas cargas disputariam as mesmas linhas
+        running.lock();
+        try {
+            execute(job);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private void execute(ProductImportJob job) {
+        job.start();
+        log.info("Importação {} iniciada ({})", job.getId(), job.getFormat());
+        MergeResult result;
+        try {
+            result = load(job);
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Importação {} falhou após {} registros", job.getId(), job.getRead().get(), ex);
+            job.fail(NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+            return;
+        }
+        job.complete(result.inserted(), result.updated());
+        log.info("Importação {} concluída: {} lidos, {} rejeitados, {} criados, {} atualizados",
+                job.getId(), job.getRead().get(), job.getRejected().get(), result.inserted(), result.updated());
+
+        productCache.evictAll();
+        eventPublisher.publishEvent(new CatalogReloadedEvent(result.inserted() + result.updated()));
+    }
+
+    private MergeResult load(ProductImportJob job) throws Exception {
+        try (BufferedReader reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8);
+             RejectFileWriter rejects = new RejectFileWriter(job.getRejectFile());
+             Connection connection = dataSource.getConnection()) {
+            ImportRecordReader records = new ImportRecordReader(reader, job.getFormat());
+            ProductImportParser parser = parser(job.getFormat(), records);
+            connection.setAutoCommit(false);
+            try {
+                CopyIn copy = stagingLoader.beginCopy(connection);
+                try {
+                    stream(job, records, parser, copy, rejects);
+                    copy.endCopy();
+                } finally {
+                    if (copy.isActive()) {
+                        copy.cancelCopy();
+                    }
+                }
+                job.merging();
+                long unknown = stagingLoader.rejectUnknownIds(connection, rejects);
+                job.getAccepted().addAndGet(-unknown);
+                job.getRejected().addAndGet(unknown);
+                // O merge não passa pelo Hibernate: o cache de consultas é avisado até o commit
+                cacheInvalidator.beforeProductWrite();
+                try {
+                    MergeResult result = stagingLoader.merge(connection);
+                    connection.commit();
+                    return result;
+                } finally {
+                    cacheInvalidator.afterProductWrite();
+                }
+            } catch (Exception ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    private ProductImportParser parser(ImportFormat format, ImportRecordReader records) throws IOException {
+        if (format == ImportFormat.NDJSON) {
+            return ProductImportParser.ndjson(objectMapper, validator);
+        }
+        ImportRecord header = records.next();
+        if (header == null) {
+            throw new BusinessException("Arquivo CSV vazio: o cabeçalho é obrigatório");
+        }
+        return ProductImportParser.csv(header.raw(), validator);
+    }
+
+    private void stream(ProductImportJob job, ImportRecordReader records, ProductImportParser parser,
+            CopyIn copy, RejectFileWriter rejects)
+            throws IOException, SQLException, InterruptedException, ExecutionException {
+        Deque<Future<ParsedBatch>> inFlight = new ArrayDeque<>();
+        try {
+            List<ImportRecord> batch = new ArrayList<>(batchSize);
+            ImportRecord record;
+            while ((record = records.next()) != null) {
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    List<ImportRecord> full = batch;
+                    inFlight.add(parsers.submit(() -> parser.parse(full)));
+                    batch = new ArrayList<>(batchSize);
+                    // Leitura para enquanto o COPY não alcança: limita a memória em uso
+                    if (inFlight.size() >= 2 * parallelism) {
+                        write(job, inFlight.poll().get(), copy, rejects);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<ImportRecord> last = batch;
+                inFlight.add(parsers.submit(() -> parser.parse(last)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(job, inFlight.poll().get(), copy, rejects);
+            }
+        } finally {
+            inFlight.forEach(pending -> pending.cancel(true));
+        }
+    }
+
+    private void write(ProductImportJob job, ParsedBatch batch, CopyIn copy, RejectFileWriter rejects)
+            throws IOException, SQLException {
+        if (batch.copyData().length > 0) {
+            copy.writeToCopy(batch.copyData(), 0, batch.copyData().length);
+        }
+        for (Rejected rejected : batch.rejected()) {
+            rejects.write(rejected);
+        }
+        job.getAccepted().addAndGet(batch.accepted());
+        job.getRejected().addAndGet(batch.rejected().size());
+        long before = job.getRead().getAndAdd(batch.accepted() + batch.rejected().size());
+        if (before / PROGRESS_INTERVAL != job.getRead().get() / PROGRESS_INTERVAL) {
+            log.info("Importação {}: {} registros lidos, {} rejeitados",
+                    job.getId(), job.getRead().get(), job.getRejected().get());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Não foi possível apagar {}", file, ex);
+        }
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,56 +1,336 @@
 package com.selfservice.domain.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
 import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.cache.ProductCache;
+import com.selfservice.infrastructure.cache.SingleFlight;
+import com.selfservice.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.selfservice.infrastructure.exception.BusinessException;
 import com.selfservice.infrastructure.exception.ResourceNotFoundException;
+import com.selfservice.infrastructure.pagination.CountMode;
+import com.selfservice.infrastructure.pagination.EstimatedPage;
+import com.selfservice.infrastructure.pagination.ProductCountEstimator;
+import com.selfservice.infrastructure.pagination.ProductCursor;
+import com.selfservice.infrastructure.pagination.ProductFilterKey;
+import com.selfservice.infrastructure.pagination.ProductSortKey;
 import com.selfservice.infrastructure.repository.ProductRepository;
+import com.selfservice.infrastructure.repository.ProductRepositoryCustom;
+import com.selfservice.infrastructure.search.PriceIndex;
+import com.selfservice.infrastructure.search.ProductSearchIndex;
 import com.selfservice.infrastructure.specification.ProductSpecification;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
 
+/**
+ * Leituras rodam em transações {@code readOnly}: o Spring coloca a sessão do Hibernate em
+ * {@code FlushMode.MANUAL} com entidades somente leitura (sem snapshots nem dirty check) e
+ * marca a conexão JDBC como somente leitura. Escritas são comandos únicos, sem transação
+ * de leitura antes.
+ */
 @Service
-@RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final EntityManager entityManager;
+    private final ProductCountEstimator productCountEstimator;
+    private final ProductSearchIndex productSearchIndex;
+    private final PriceIndex priceIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<PageKey, Slice<ProductResponseDTO>> pageFlights = new SingleFlight<>();
 
-    public Page<Product> findAll(ProductFilterDTO filter, Pageable pageable) {
+    public ProductService(
+            ProductRepository productRepository,
+            ProductCache productCache,
+            EntityManager entityManager,
+            ProductCountEstimator productCountEstimator,
+            ProductSearchIndex productSearchIndex,
+            PriceIndex priceIndex,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.entityManager = entityManager;
+        this.productCountEstimator = productCountEstimator;
+        this.productSearchIndex = productSearchIndex;
+        this.priceIndex = priceIndex;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Listagem paginada. Todos os caminhos selecionam direto em {@link ProductResponseDTO},
+     * sem hidratar entidades gerenciadas nem passar pelo mapper. Chamadas simultâneas com o
+     * mesmo filtro normalizado e a mesma página compartilham uma única execução
+     * ({@link #coalesce}). Com o índice de busca em memória, a página sai dele direto, sem
+     * transação nem fila.
+     */
+    public Page<ProductResponseDTO> findAll(ProductFilterDTO filter, Pageable pageable) {
+        if (productSearchIndex.isAvailable()) {
+            return productSearchIndex.search(filter, pageable);
+        }
+        return (Page<ProductResponseDTO>) coalesce(CountMode.EXACT, filter, pageable, () -> loadPage(filter, pageable));
+    }
+
+    /**
+     * Página sem total: busca um item além do tamanho da página para saber se há próxima,
+     * dispensando o COUNT(*) com os mesmos predicados LIKE.
+     */
+    public Slice<ProductResponseDTO> findSlice(ProductFilterDTO filter, Pageable pageable) {
+        if (productSearchIndex.isAvailable()) {
+            return productSearchIndex.search(filter, pageable);
+        }
+        return coalesce(CountMode.NONE, filter, pageable, () -> loadSlice(filter, pageable));
+    }
+
+    /**
+     * Página com total aproximado. O total nunca é menor do que o que a própria página
+     * comprova, e na última página é exato ({@link EstimatedPage#of}). Só o total vindo do
+     * estimador é devolvido como {@link EstimatedPage}; os índices em memória conhecem o
+     * total exato sem custo adicional.
+     */
+    public Page<ProductResponseDTO> findAllEstimated(ProductFilterDTO filter, Pageable pageable) {
+        if (productSearchIndex.isAvailable()) {
+            return productSearchIndex.search(filter, pageable);
+        }
+        return (Page<ProductResponseDTO>) coalesce(CountMode.ESTIMATED, filter, pageable,
+                () -> loadEstimated(filter, pageable));
+    }
+
+    /**
+     * Quem chega primeiro executa a consulta numa transação {@code readOnly}; os demais esperam
+     * o mesmo resultado sem abrir transação nem ocupar conexão. Requisições fixadas no primário
+     * (read-your-writes, preenchimento do cache de respostas) formam uma fila à parte: numa
+     * execução que lê da réplica, poderiam receber dados anteriores à própria escrita.
+     */
+    private Slice<ProductResponseDTO> coalesce(CountMode mode, ProductFilterDTO filter, Pageable pageable,
+            Supplier<Slice<ProductResponseDTO>> query) {
+        PageKey key = new PageKey(mode, ProductFilterKey.of(filter), pageable, ReplicaRoutingDataSource.isPinned());
+        return pageFlights.execute(key, () -> readOnlyTransaction.execute(status -> query.get()));
+    }
+
+    private Page<ProductResponseDTO> loadPage(ProductFilterDTO filter, Pageable pageable) {
+        if (usesPriceIndex(filter, pageable.getSort())) {
+            return findByPriceRange(filter, pageable);
+        }
+        if (ProductSpecification.hasSearch(filter)) {
+            List<ProductResponseDTO> content = productRepository.search(
+                    filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+            return PageableExecutionUtils.getPage(content, pageable, () -> productRepository.countSearch(filter));
+        }
+        requireSearchForRelevance(pageable.getSort());
+        List<ProductResponseDTO> content = productRepository.findAllProjected(
+                filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> productRepository.countFiltered(filter));
+    }
+
+    private Slice<ProductResponseDTO> loadSlice(ProductFilterDTO filter, Pageable pageable) {
+        if (usesPriceIndex(filter, pageable.getSort())) {
+            return findByPriceRange(filter, pageable);
+        }
+        List<ProductResponseDTO> products = findWindow(
+                filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = products.size() > pageable.getPageSize();
+        List<ProductResponseDTO> content = hasNext ? products.subList(0, pageable.getPageSize()) : products;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private Page<ProductResponseDTO> loadEstimated(ProductFilterDTO filter, Pageable pageable) {
+        if (usesPriceIndex(filter, pageable.getSort())) {
+            return findByPriceRange(filter, pageable);
+        }
+        return EstimatedPage.of(loadSlice(filter, pageable), () -> productCountEstimator.estimate(filter));
+    }
+
+    /**
+     * Paginação por cursor: filtra a partir da última posição entregue em vez de usar OFFSET,
+     * então o custo de cada página independe da profundidade.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Product> findAll(ProductFilterDTO filter, ProductSortKey sortKey, Sort.Direction direction,
+            ProductCursor after, int size) {
+        if (size < 1) {
+            throw new BusinessException("O tamanho da página deve ser maior que zero");
+        }
         Specification<Product> spec = ProductSpecification.withFilter(filter);
-        return productRepository.findAll(spec, pageable);
+        if (after != null) {
+            after.requireFilter(ProductFilterKey.of(filter));
+            spec = spec.and(ProductSpecification.after(after));
+        }
+        Sort sort = sortKey.toSort(direction);
+
+        // Busca um item extra apenas para saber se há próxima página
+        List<Product> products = productRepository.findAll(spec, sort, 0, size + 1);
+        boolean hasNext = products.size() > size;
+        List<Product> content = hasNext ? products.subList(0, size) : products;
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private List<ProductResponseDTO> findWindow(ProductFilterDTO filter, Sort sort, long offset, int limit) {
+        if (ProductSpecification.hasSearch(filter)) {
+            return productRepository.search(filter, sort, offset, limit);
+        }
+        requireSearchForRelevance(sort);
+        return productRepository.findAllProjected(filter, sort, offset, limit);
+    }
+
+    /**
+     * Filtro apenas por faixa de preço, ordenado por preço (ou sem ordenação): atendido pelo
+     * {@link PriceIndex}, que também sabe o total exato da faixa sem COUNT(*).
+     */
+    private boolean usesPriceIndex(ProductFilterDTO filter, Sort sort) {
+        if (!priceIndex.isAvailable()
+                || (filter.getMinPrice() == null && filter.getMaxPrice() == null)
+                || hasText(filter.getName()) || hasText(filter.getDescription())
+                || ProductSpecification.hasSearch(filter)) {
+            return false;
+        }
+        Sort.Direction direction = priceDirection(sort);
+        for (Sort.Order order : sort) {
+            boolean price = order.getProperty().equals(ProductSortKey.PRICE.getProperty());
+            boolean tiebreak = order.getProperty().equals(ProductSortKey.ID.getProperty());
+            if (!(price || tiebreak) || order.getDirection() != direction) {
+                return false;
+            }
+        }
+        return sort.isUnsorted() || sort.iterator().next().getProperty().equals(ProductSortKey.PRICE.getProperty());
     }
 
+    private Page<ProductResponseDTO> findByPriceRange(ProductFilterDTO filter, Pageable pageable) {
+        PriceIndex.Range range = priceIndex.range(filter.getMinPrice(), filter.getMaxPrice(),
+                priceDirection(pageable.getSort()), pageable.getOffset(), pageable.getPageSize());
+        Map<Long, ProductResponseDTO> products = productRepository
+                .findAllProjectedById(LongStream.of(range.ids()).boxed().toList())
+                .stream()
+                .collect(Collectors.toMap(ProductResponseDTO::getId, Function.identity()));
+
+        // A consulta por ids não garante ordem; reaplica a ordem do índice
+        List<ProductResponseDTO> content = new ArrayList<>(range.ids().length);
+        for (long id : range.ids()) {
+            ProductResponseDTO product = products.get(id);
+            if (product != null) {
+                content.add(product);
+            }
+        }
+        return new PageImpl<>(content, pageable, range.total());
+    }
+
+    private static Sort.Direction priceDirection(Sort sort) {
+        Sort.Order order = sort.getOrderFor(ProductSortKey.PRICE.getProperty());
+        return order == null ? Sort.Direction.ASC : order.getDirection();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private void requireSearchForRelevance(Sort sort) {
+        if (sort.getOrderFor(ProductRepositoryCustom.RELEVANCE) != null) {
+            throw new BusinessException("A ordenação por relevância exige o parâmetro search");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Page<Product> findAll(Pageable pageable) {
         return productRepository.findAll(pageable);
     }
 
-    public List<Product> findAll() {
-        return productRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> findAll() {
+        return productRepository.findAllProjected();
     }
 
-    public Product findById(Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Product> consumer) {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                // Evita que o contexto de persistência cresça com o tamanho do catálogo
+                entityManager.detach(product);
+            });
+        }
+    }
+
+    /**
+     * Sem transação própria: acertos no cache não abrem nada, e o {@code findById} do
+     * repositório já roda numa transação readOnly, no primário como todo loader de cache.
+     */
+    public ProductResponseDTO findById(Long id) {
+        return productCache.get(id, key -> productRepository.findById(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", key)));
     }
 
     public Product save(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productCache.evict(saved.getId());
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
+    /**
+     * Substitui o produto com um único {@code UPDATE ... RETURNING}; a contagem de linhas
+     * afetadas decide o 404, sem buscar o produto antes.
+     */
     public Product update(Long id, Product product) {
-        Product existingProduct = findById(id);
-        product.setId(existingProduct.getId());
-        return productRepository.save(product);
+        Product updated = productRepository.updateById(id, product)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        return updated(updated);
+    }
+
+    /** Atualização parcial: só os campos não nulos de {@code changes} são gravados. */
+    public Product patch(Long id, Product changes) {
+        Product patched = productRepository.patchById(id, changes)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        return updated(patched);
     }
 
     public void delete(Long id) {
-        Product product = findById(id);
-        productRepository.delete(product);
+        if (!productRepository.removeById(id)) {
+            throw new ResourceNotFoundException("Product", id);
+        }
+        productCache.evict(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+    }
+
+    private Product updated(Product product) {
+        productCache.evict(product.getId());
+        eventPublisher.publishEvent(ProductChangedEvent.saved(product));
+        return product;
+    }
+
+    /**
+     * Filtro normalizado, página, tamanho e ordenação de uma listagem, por modo de contagem e
+     * por fixação no primário.
+     */
+    private record PageKey(CountMode mode, ProductFilterKey filter, Pageable pageable, boolean primary) {
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.selfservice.infrastructure.bulk;
+
+/**
+ * Item lido do corpo de uma requisição em massa.
+ *
+ * @param index posição do item no corpo (começa em 0)
+ * @param value item desserializado, ou {@code null} quando não pôde ser lido
+ * @param error motivo da falha de leitura, ou {@code null}
+ */
+public record BulkItem<T>(int index, T value, String error) {
+
+    public static <T> BulkItem<T> of(int index, T value) {
+        return new BulkItem<>(index, value, null);
+    }
+
+    public static <T> BulkItem<T> unreadable(int index, String error) {
+        return new BulkItem<>(index, null, error);
+    }
+}
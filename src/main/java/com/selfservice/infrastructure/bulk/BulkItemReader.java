@@ -0,0 +1,80 @@
+package com.selfservice.infrastructure.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Lê os itens de um array JSON (ou de NDJSON) conforme são consumidos, sem carregar o
+ * corpo inteiro em memória.
+ *
+ * <p>Um item com tipo inválido vira um {@link BulkItem#unreadable} e a leitura continua
+ * no próximo; um erro de sintaxe encerra a leitura, pois não há como achar o próximo item.
+ */
+public class BulkItemReader<T> implements Iterator<BulkItem<T>> {
+
+    private final MappingIterator<T> values;
+    private int index;
+    private BulkItem<T> pending;
+    private boolean finished;
+
+    public BulkItemReader(ObjectReader reader, InputStream body) {
+        try {
+            this.values = reader.readValues(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            if (values.hasNextValue()) {
+                return true;
+            }
+            finished = true;
+        } catch (IOException ex) {
+            stop(ex);
+        }
+        return pending != null;
+    }
+
+    @Override
+    public BulkItem<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (pending != null) {
+            BulkItem<T> item = pending;
+            pending = null;
+            return item;
+        }
+        int current = index++;
+        try {
+            return BulkItem.of(current, values.nextValue());
+        } catch (JsonMappingException ex) {
+            return BulkItem.unreadable(current, "Item inválido: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            index--;
+            stop(ex);
+            return next();
+        }
+    }
+
+    private void stop(IOException ex) {
+        finished = true;
+        pending = BulkItem.unreadable(index++, "JSON malformado; itens seguintes não foram lidos: " + ex.getMessage());
+    }
+}
@@ -0,0 +1,92 @@
+package com.selfservice.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.selfservice.infrastructure.datasource.ReplicaRoutingDataSource;
+
+/**
+ * Carregamento de entradas do Caffeine fora do lock do mapa. O {@code Cache.get(key, loader)}
+ * executa o loader dentro do {@code synchronized} do {@code ConcurrentHashMap}; com uma
+ * consulta ao banco no loader, uma thread virtual ficaria presa (pinned) à thread portadora
+ * durante todo o I/O. Aqui só a inserção do future acontece sob o lock: quem chega depois
+ * espera o mesmo future, sem repetir a consulta.
+ *
+ * <p>Os loaders rodam fixados no primário ({@link ReplicaRoutingDataSource#onPrimary}): a
+ * entrada vale até a próxima escrita, e uma leitura da réplica logo após a escrita que
+ * invalidou a entrada a encheria de novo com o valor antigo.
+ */
+public final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        // getIfPresent registra acerto/falha nas estatísticas, que o asMap() não registra
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return join(cached);
+        }
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> prior = cache.asMap().putIfAbsent(key, loading);
+        if (prior != null) {
+            return join(prior);
+        }
+        try {
+            V value = ReplicaRoutingDataSource.onPrimary(() -> loader.apply(key));
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            // Futures com falha não ficam no cache; quem estava esperando recebe a mesma exceção
+            cache.asMap().remove(key, loading);
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Como {@link #get(AsyncCache, Object, Function)}, com expiração antecipada probabilística:
+     * quem sorteia o recálculo consulta de novo e troca a entrada; os demais seguem com o valor
+     * atual. O recálculo passa por {@code refreshes}: se outra thread já recalcula a mesma
+     * chave, quem também sorteou segue com o valor atual em vez de repetir a consulta. A troca
+     * só acontece se a entrada lida ainda estiver no cache, então um {@code invalidate} feito
+     * durante o recálculo não é desfeito.
+     */
+    public static <K, V> V get(AsyncCache<K, ExpiringValue<V>> cache, K key,
+            Function<? super K, ? extends V> loader, Duration ttl, double beta,
+            SingleFlight<K, ExpiringValue<V>> refreshes) {
+        ExpiringValue<V> entry = get(cache, key, k -> ExpiringValue.compute(k, loader, ttl));
+        if (!entry.shouldRecompute(System.nanoTime(), beta)) {
+            return entry.value();
+        }
+        CompletableFuture<ExpiringValue<V>> current = cache.asMap().get(key);
+        if (current == null || current.isCompletedExceptionally() || current.getNow(null) != entry) {
+            // Já removida ou trocada por outra thread
+            return entry.value();
+        }
+        ExpiringValue<V> fresh = refreshes.tryExecute(key, () -> {
+            ExpiringValue<V> recomputed = ReplicaRoutingDataSource.onPrimary(
+                    () -> ExpiringValue.compute(key, loader, ttl));
+            cache.asMap().replace(key, current, CompletableFuture.completedFuture(recomputed));
+            return recomputed;
+        });
+        return fresh != null ? fresh.value() : entry.value();
+    }
+
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
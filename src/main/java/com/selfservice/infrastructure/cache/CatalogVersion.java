@@ -0,0 +1,98 @@
+package com.selfservice.infrastructure.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.domain.event.ProductChangedEvent;
+
+/**
+ * Versão monotônica do catálogo, incrementada a cada escrita de produto, usada para
+ * gerar ETags fortes e responder {@code If-None-Match} com 304 sem consultar o banco.
+ *
+ * <p>A versão parte do instante de inicialização, então um restart nunca reaproveita
+ * uma ETag já entregue. Cada produto guarda a versão da sua última escrita; os que
+ * não mudaram desde a inicialização ficam com a versão inicial. O mapa por produto é
+ * limitado a {@code max-tracked-products}: ao passar disso, e a cada carga em bloco, ele
+ * é esvaziado e todo produto passa a ter no mínimo uma versão nova. Isso muda a ETag
+ * de todos os produtos uma vez, mas nenhuma ETag antiga volta a valer. O estado é local à
+ * JVM: com mais de uma instância atrás do balanceador, as escritas feitas em outra
+ * instância não são percebidas.
+ *
+ * <p>A versão muda por último entre os listeners de {@link ProductChangedEvent} e
+ * {@link CatalogReloadedEvent}: índices e caches que alimentam as respostas usam
+ * {@link #BEFORE_VERSION}. Como a ETag é lida antes de o corpo ser montado, uma ETag nova
+ * nunca acompanha um corpo de um índice ainda não atualizado.
+ */
+@Component
+public class CatalogVersion {
+
+    /** Ordem dos listeners que atualizam estado derivado do catálogo: antes da versão. */
+    public static final int BEFORE_VERSION = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final long initialVersion = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong(initialVersion);
+    private final Map<Long, Long> productVersions = new ConcurrentHashMap<>();
+    private final int maxTrackedProducts;
+    private volatile long reloadedVersion = initialVersion;
+
+    public CatalogVersion(@Value("${app.cache.catalog-version.max-tracked-products:100000}") int maxTrackedProducts) {
+        this.maxTrackedProducts = maxTrackedProducts;
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        long next = version.incrementAndGet();
+        if (event.productId() != null) {
+            productVersions.put(event.productId(), next);
+            if (productVersions.size() > maxTrackedProducts) {
+                raiseFloor();
+            }
+        }
+    }
+
+    /** Após uma carga em bloco, todo produto passa a ter no mínimo a versão da carga. */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        raiseFloor();
+    }
+
+    int trackedProducts() {
+        return productVersions.size();
+    }
+
+    /**
+     * Esvazia o mapa e só depois incrementa a versão: qualquer entrada removida, inclusive
+     * de uma escrita concorrente, tem versão menor que o novo piso.
+     */
+    private synchronized void raiseFloor() {
+        productVersions.clear();
+        reloadedVersion = version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public long of(Long productId) {
+        return Math.max(productVersions.getOrDefault(productId, initialVersion), reloadedVersion);
+    }
+
+    /** ETag das listagens; {@code variant} distingue representações da mesma URL. */
+    public String etag(String variant) {
+        return "\"catalog-" + current() + "-" + variant + "\"";
+    }
+
+    public String etag(Long productId) {
+        return "\"product-" + productId + "-" + of(productId) + "\"";
+    }
+}
@@ -0,0 +1,33 @@
+package com.selfservice.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Valor em cache com o tempo que levou para ser calculado e o instante em que vence, para a
+ * expiração antecipada probabilística (XFetch). Cada leitura recalcula antes do vencimento
+ * com probabilidade que cresce à medida que ele se aproxima e com o custo do cálculo, então
+ * entradas carregadas juntas (como no reboot dos quiosques) não vencem todas ao mesmo tempo.
+ *
+ * @param computeNanos duração do cálculo ({@code delta} do XFetch)
+ * @param expiresAtNanos vencimento, na escala de {@link System#nanoTime()}
+ */
+public record ExpiringValue<V>(V value, long computeNanos, long expiresAtNanos) {
+
+    public static <K, V> ExpiringValue<V> compute(K key, Function<? super K, ? extends V> loader, Duration ttl) {
+        long start = System.nanoTime();
+        V value = loader.apply(key);
+        long end = System.nanoTime();
+        return new ExpiringValue<>(value, end - start, end + ttl.toNanos());
+    }
+
+    /**
+     * {@code agora - delta * beta * ln(rand()) >= vencimento}; {@code beta} maior que 1
+     * antecipa os recálculos, menor que 1 os adia.
+     */
+    public boolean shouldRecompute(long nowNanos, double beta) {
+        double random = ThreadLocalRandom.current().nextDouble();
+        return nowNanos - computeNanos * beta * Math.log(random) >= expiresAtNanos;
+    }
+}
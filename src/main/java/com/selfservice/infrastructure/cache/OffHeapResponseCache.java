@@ -0,0 +1,192 @@
+package com.selfservice.infrastructure.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.domain.event.ProductChangedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Cache de respostas já serializadas (UTF-8 e, opcionalmente, gzip) guardadas fora do
+ * heap, em slabs de {@link ByteBuffer#allocateDirect diretos}.
+ *
+ * <p>As entradas são gravadas em sequência numa {@link Arena} e nunca sobrescritas: uma
+ * requisição que já obteve uma entrada continua lendo bytes válidos mesmo que o cache
+ * seja invalidado no meio da escrita. Invalidar, ou encher a arena, troca a arena
+ * inteira por uma vazia; a memória da anterior é liberada quando seus buffers são
+ * coletados. Qualquer {@link ProductChangedEvent} ou {@link CatalogReloadedEvent}
+ * invalida tudo.
+ */
+@Component
+public class OffHeapResponseCache implements MeterBinder {
+
+    public static final String NAME = "product-pages";
+
+    private final int slabSize;
+    private final int maxSlabs;
+    private final boolean gzip;
+    private final AtomicReference<Arena> arena;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public OffHeapResponseCache(
+            @Value("${app.cache.response.slab-size:4MB}") DataSize slabSize,
+            @Value("${app.cache.response.max-slabs:16}") int maxSlabs,
+            @Value("${app.cache.response.gzip:true}") boolean gzip) {
+        this.slabSize = Math.toIntExact(slabSize.toBytes());
+        this.maxSlabs = maxSlabs;
+        this.gzip = gzip;
+        this.arena = new AtomicReference<>(new Arena());
+    }
+
+    /** Arena corrente; quem for gravar uma resposta deve capturá-la antes de gerá-la. */
+    public Arena current() {
+        return arena.get();
+    }
+
+    public CachedResponse get(String key) {
+        CachedResponse response = arena.get().entries.get(key);
+        (response != null ? hits : misses).incrementAndGet();
+        return response;
+    }
+
+    /**
+     * Grava a resposta na arena capturada no início da requisição. Se ela já foi
+     * invalidada, a gravação é inofensiva: a arena não é mais consultada.
+     */
+    public void put(Arena target, String key, String contentType, String etag, byte[] body) {
+        byte[] compressed = gzip ? gzip(body) : null;
+        if (target.store(key, contentType, etag, body, compressed)) {
+            return;
+        }
+        // Arena cheia: recomeça do zero, a menos que uma invalidação já tenha trocado a arena
+        Arena fresh = new Arena();
+        if (arena.compareAndSet(target, fresh)) {
+            fresh.store(key, contentType, etag, body, compressed);
+        }
+    }
+
+    @EventListener
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void onProductChanged(ProductChangedEvent event) {
+        evictAll();
+    }
+
+    @EventListener
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        evictAll();
+    }
+
+    public void evictAll() {
+        arena.set(new Arena());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", NAME).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", NAME).tag("result", "miss").register(registry);
+        Gauge.builder("cache.size", arena, current -> current.get().entries.size())
+                .tag("cache", NAME).register(registry);
+        Gauge.builder("cache.offheap.bytes", arena, current -> current.get().allocatedBytes())
+                .tag("cache", NAME).register(registry);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Resposta em cache. Os buffers são compartilhados: use {@link ByteBuffer#duplicate()}
+     * antes de ler.
+     *
+     * @param gzipBody corpo comprimido, ou {@code null} quando o gzip está desligado
+     */
+    public record CachedResponse(String contentType, String etag, ByteBuffer body, ByteBuffer gzipBody) {
+    }
+
+    /** Conjunto de slabs preenchidos em sequência, descartado de uma vez. */
+    public final class Arena {
+
+        private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+        private final List<ByteBuffer> slabs = new ArrayList<>();
+        // Lock explícito em vez de synchronized: não prende threads virtuais à portadora
+        private final ReentrantLock lock = new ReentrantLock();
+        private ByteBuffer slab;
+
+        private Arena() {
+        }
+
+        private boolean store(String key, String contentType, String etag, byte[] body, byte[] compressed) {
+            lock.lock();
+            try {
+                return append(key, contentType, etag, body, compressed);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean append(String key, String contentType, String etag, byte[] body, byte[] compressed) {
+            int required = body.length + (compressed != null ? compressed.length : 0);
+            if (required > slabSize) {
+                // Maior que um slab: nunca caberá, mas não é motivo para descartar a arena
+                return true;
+            }
+            if (slab == null || slab.remaining() < required) {
+                if (slabs.size() == maxSlabs) {
+                    return false;
+                }
+                slab = ByteBuffer.allocateDirect(slabSize);
+                slabs.add(slab);
+            }
+            ByteBuffer bodyBuffer = write(body);
+            ByteBuffer gzipBuffer = compressed != null ? write(compressed) : null;
+            entries.put(key, new CachedResponse(contentType, etag, bodyBuffer, gzipBuffer));
+            return true;
+        }
+
+        private ByteBuffer write(byte[] bytes) {
+            int position = slab.position();
+            slab.put(bytes);
+            return slab.slice(position, bytes.length).asReadOnlyBuffer();
+        }
+
+        private long allocatedBytes() {
+            lock.lock();
+            try {
+                return (long) slabs.size() * slabSize;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.selfservice.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.domain.entity.Product;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache em memória dos produtos consultados por ID, o único para eles: a entidade
+ * {@code Product} fica fora do cache de segundo nível do Hibernate.
+ *
+ * <p>Usa Caffeine, cuja política de despejo (W-TinyLFU) só admite uma nova
+ * entrada quando ela é mais frequente que a vítima, preservando os produtos
+ * mais acessados pelos quiosques. As estatísticas são publicadas no Micrometer
+ * como {@code cache.*{cache=products}}. O carregamento acontece fora do lock do
+ * mapa ({@link CacheLoads}), seguro para threads virtuais, e as entradas são
+ * recarregadas com antecedência aleatória ({@link ExpiringValue}) em vez de vencerem
+ * todas juntas.
+ *
+ * <p>O cache guarda uma cópia imutável dos campos, nunca a entidade carregada: cada
+ * chamada recebe um {@link ProductResponseDTO} novo, e nada que um chamador altere chega
+ * às demais requisições.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    public static final String NAME = "products";
+
+    private final AsyncCache<Long, ExpiringValue<Snapshot>> cache;
+    private final Duration expireAfterWrite;
+    private final double earlyExpiryBeta;
+    private final SingleFlight<Long, ExpiringValue<Snapshot>> refreshes = new SingleFlight<>();
+
+    public ProductCache(
+            @Value("${app.cache.product.maximum-size:1000}") long maximumSize,
+            @Value("${app.cache.product.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${app.cache.early-expiry-beta:1.0}") double earlyExpiryBeta) {
+        this.expireAfterWrite = expireAfterWrite;
+        this.earlyExpiryBeta = earlyExpiryBeta;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public ProductResponseDTO get(Long id, Function<Long, Product> loader) {
+        return CacheLoads.get(cache, id, key -> Snapshot.of(loader.apply(key)),
+                expireAfterWrite, earlyExpiryBeta, refreshes).toDTO();
+    }
+
+    public void evict(Long id) {
+        if (id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), NAME);
+    }
+
+    /** Campos do produto no momento da carga. */
+    private record Snapshot(Long id, String name, String description, BigDecimal price) {
+
+        static Snapshot of(Product product) {
+            return new Snapshot(product.getId(), product.getName(), product.getDescription(), product.getPrice());
+        }
+
+        ProductResponseDTO toDTO() {
+            return new ProductResponseDTO(id, name, description, price);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.selfservice.infrastructure.cache;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.selfservice.infrastructure.pagination.ProductFilterKey;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serve {@code GET /products/paged} a partir do {@link OffHeapResponseCache}. No acerto, os
+ * bytes já serializados vão direto para o output stream, sem consulta, mapeamento ou
+ * Jackson; na falha, a resposta gerada pelo controller é capturada e guardada.
+ *
+ * <p>A chave é o filtro normalizado ({@link ProductFilterKey}) mais página, tamanho,
+ * ordenação e modo de contagem, com os mesmos valores padrão do controller. A resposta que
+ * vai para o cache é gerada fixada no primário, como os loaders de {@link CacheLoads}.
+ */
+@RequiredArgsConstructor
+public class ProductPageCacheFilter extends OncePerRequestFilter {
+
+    private final OffHeapResponseCache responseCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        OffHeapResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        // Captura a arena antes de gerar a resposta: se um produto mudar no meio, a gravação é descartada
+        OffHeapResponseCache.Arena arena = responseCache.current();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean pinned = ReplicaRoutingDataSource.isPinned();
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (!pinned) {
+                ReplicaRoutingDataSource.unpin();
+            }
+        }
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && isJson(wrapper.getContentType())) {
+            responseCache.put(arena, key, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+                    wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response,
+            OffHeapResponseCache.CachedResponse cached) throws IOException {
+        if (cached.etag() != null && new ServletWebRequest(request, response).checkNotModified(cached.etag())) {
+            return;
+        }
+        ByteBuffer body = cached.body();
+        if (cached.gzipBody() != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = cached.gzipBody();
+            }
+        }
+        body = body.duplicate();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.remaining());
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+
+    /** Chave normalizada da requisição, ou {@code null} quando um parâmetro é inválido. */
+    static String cacheKey(HttpServletRequest request) {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch(request.getParameter("search"));
+        filter.setName(request.getParameter("name"));
+        filter.setDescription(request.getParameter("description"));
+        try {
+            filter.setMinPrice(decimal(request.getParameter("minPrice")));
+            filter.setMaxPrice(decimal(request.getParameter("maxPrice")));
+        } catch (NumberFormatException ex) {
+            // Deixa o controller responder ao parâmetro inválido
+            return null;
+        }
+        return String.join("|",
+                ProductFilterKey.of(filter).toString(),
+                parameter(request, "page", "0"),
+                parameter(request, "size", "10"),
+                parameter(request, "sort", "name"),
+                parameter(request, "direction", "ASC").toUpperCase(),
+                parameter(request, "count", "exact").toLowerCase());
+    }
+
+    private static String parameter(HttpServletRequest request, String name, String defaultValue) {
+        String value = request.getParameter(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null || value.isEmpty() ? null : new BigDecimal(value);
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
@@ -0,0 +1,55 @@
+package com.selfservice.infrastructure.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Junta chamadas concorrentes com a mesma chave numa única execução: a primeira executa e as
+ * demais esperam o mesmo resultado (ou a mesma exceção). Nada fica guardado depois que a
+ * execução termina; quem chega depois dispara uma nova. Como em {@link CacheLoads}, a espera
+ * é num {@link CompletableFuture}, sem monitor, segura para threads virtuais.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<? extends V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return CacheLoads.join(leader);
+        }
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Como {@link #execute}, mas sem esperar: com uma execução da mesma chave em andamento,
+     * devolve {@code null} na hora e {@code call} não é executado.
+     */
+    public V tryExecute(K key, Supplier<? extends V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return null;
+        }
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+}
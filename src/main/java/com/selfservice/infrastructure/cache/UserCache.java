@@ -0,0 +1,106 @@
+package com.selfservice.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selfservice.domain.entity.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache em memória dos usuários consultados por email no login e na autenticação por
+ * requisição. Fica na frente do cache de segundo nível do Hibernate: um acerto não abre
+ * transação nem sessão.
+ *
+ * <p>Emails sem usuário vão para um segundo cache, menor e com expiração curta, para que
+ * um ataque de força bruta com emails inventados não chegue ao banco nem desloque os
+ * usuários reais. Os dois são publicados como {@code cache.*{cache=users}} e
+ * {@code cache.*{cache=users-missing}}. As instâncias guardadas são compartilhadas entre
+ * threads e tratadas como somente leitura.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    public static final String NAME = "users";
+    public static final String MISSING_NAME = "users-missing";
+
+    private final AsyncCache<String, User> users;
+    private final Cache<String, Boolean> missing;
+
+    public UserCache(
+            @Value("${app.cache.user.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.user.expire-after-write:5m}") Duration expireAfterWrite,
+            @Value("${app.cache.user.missing.maximum-size:10000}") long missingMaximumSize,
+            @Value("${app.cache.user.missing.expire-after-write:30s}") Duration missingExpireAfterWrite) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(missingMaximumSize)
+                .expireAfterWrite(missingExpireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /** Usuário do email, consultando {@code loader} só quando o email não está em nenhum dos caches. */
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        if (missing.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        // Um future completado com null sai do cache sozinho; a ausência vai para o outro cache
+        User user = CacheLoads.get(users, email, key -> loader.apply(key).orElse(null));
+        if (user == null) {
+            missing.put(email, Boolean.TRUE);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Remove os emails dos dois caches agora e, dentro de uma transação, de novo depois do
+     * commit: uma leitura concorrente antes do commit ainda veria os dados antigos.
+     */
+    public void evict(String... emails) {
+        invalidate(emails);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(emails);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        users.synchronous().invalidateAll();
+        missing.invalidateAll();
+    }
+
+    private void invalidate(String... emails) {
+        Arrays.stream(emails).filter(Objects::nonNull).forEach(email -> {
+            users.synchronous().invalidate(email);
+            missing.invalidate(email);
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users.synchronous(), NAME);
+        CaffeineCacheMetrics.monitor(registry, missing, MISSING_NAME);
+    }
+}
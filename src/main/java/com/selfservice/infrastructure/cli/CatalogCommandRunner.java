@@ -0,0 +1,120 @@
+package com.selfservice.infrastructure.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.domain.service.ProductExportService;
+import com.selfservice.domain.service.ProductImportService;
+import com.selfservice.infrastructure.export.ExportFormat;
+import com.selfservice.infrastructure.importer.ImportFormat;
+import com.selfservice.infrastructure.importer.ProductImportJob;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modo linha de comando para exportar ou importar o catálogo sem passar pela API:
+ *
+ * <pre>
+ * java -jar app.jar --export=catalogo.csv [--format=csv|arrow] [--search=...] [--name=...]
+ *                   [--description=...] [--minPrice=...] [--maxPrice=...]
+ * java -jar app.jar --import=fornecedor.csv [--format=csv|ndjson]
+ * </pre>
+ *
+ * Sem {@code --format}, o formato vem da extensão do arquivo. A aplicação sobe sem
+ * servidor HTTP, executa o comando e encerra com código 0 em caso de sucesso. Uma
+ * instância já em execução não percebe uma importação feita por aqui: seus índices e
+ * caches em memória só refletem a carga após um restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCommandRunner implements ApplicationRunner {
+
+    private static final String EXPORT = "export";
+    private static final String IMPORT = "import";
+
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ApplicationContext context;
+
+    /** Indica se os argumentos pedem um comando, para a aplicação subir sem servidor HTTP. */
+    public static boolean isCommand(String... args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--" + EXPORT + "=") || arg.startsWith("--" + IMPORT + "="));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        if (args.containsOption(EXPORT)) {
+            exitCode = export(args);
+        } else if (args.containsOption(IMPORT)) {
+            exitCode = importFile(args);
+        } else {
+            return;
+        }
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private int export(ApplicationArguments args) {
+        Path file = Path.of(option(args, EXPORT));
+        String format = option(args, "format");
+        ExportFormat exportFormat = format != null ? ExportFormat.of(format)
+                : file.toString().endsWith(".arrow") || file.toString().endsWith(".arrows") ? ExportFormat.ARROW
+                : ExportFormat.CSV;
+
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch(option(args, "search"));
+        filter.setName(option(args, "name"));
+        filter.setDescription(option(args, "description"));
+        filter.setMinPrice(decimal(option(args, "minPrice")));
+        filter.setMaxPrice(decimal(option(args, "maxPrice")));
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            long rows = productExportService.export(filter, exportFormat, out);
+            log.info("{} produtos exportados para {}", rows, file);
+            return 0;
+        } catch (IOException | RuntimeException ex) {
+            log.error("Falha ao exportar para {}", file, ex);
+            return 1;
+        }
+    }
+
+    private int importFile(ApplicationArguments args) {
+        Path file = Path.of(option(args, IMPORT));
+        String format = option(args, "format");
+        ImportFormat importFormat = format != null ? ImportFormat.of(format)
+                : file.toString().endsWith(".ndjson") || file.toString().endsWith(".jsonl") ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+
+        ProductImportJob job = productImportService.importFile(file, importFormat);
+        if (job.getStatus() != ProductImportJob.Status.COMPLETED) {
+            log.error("Importação de {} falhou: {}", file, job.getError());
+            return 1;
+        }
+        log.info("Importação de {} concluída; rejeitados em {}", file, job.getRejectFile());
+        return 0;
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null || value.isEmpty() ? null : new BigDecimal(value);
+    }
+}
@@ -0,0 +1,36 @@
+package com.selfservice.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selfservice.infrastructure.datasource.ConcurrencyLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Coloca um {@link ConcurrencyLimitingDataSource} na frente de cada pool do Hikari (o único da
+ * autoconfiguração, ou primário e réplica), com tantas permissões quanto conexões e o mesmo
+ * {@code connection-timeout} do pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Depois da inicialização: as propriedades spring.datasource.hikari já foram aplicadas
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConcurrencyLimitingDataSource(hikari, hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.selfservice.infrastructure.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.selfservice.infrastructure.jpa.CacheRegions;
+import com.selfservice.infrastructure.jpa.SessionMetricsListener;
+
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sessionMetricsCustomizer() {
+        return properties -> properties.put(
+                AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SessionMetricsListener.class.getName());
+    }
+
+    /**
+     * Regiões do cache de segundo nível, criadas aqui para que tamanho e expiração venham da
+     * configuração da aplicação; com {@code missing_cache_strategy: fail} o Hibernate não
+     * cria regiões por conta própria.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.hibernate.user.maximum-size:10000}") long userSize,
+            @Value("${app.cache.hibernate.query.maximum-size:1000}") long querySize,
+            @Value("${app.cache.hibernate.query.product-expire-after-write:30s}") Duration productQueryExpiry,
+            @Value("${app.cache.hibernate.expire-after-write:10m}") Duration expireAfterWrite) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        cacheManager.createCache(CacheRegions.USER, region(userSize, expireAfterWrite));
+        cacheManager.createCache(CacheRegions.USER_ROLES, region(userSize, expireAfterWrite));
+        for (String queryRegion : CacheRegions.QUERIES) {
+            // Escritas de outras instâncias não chegam aos timestamps locais: só o prazo as revela
+            Duration expiry = CacheRegions.PRODUCT_QUERIES.equals(queryRegion) ? productQueryExpiry : expireAfterWrite;
+            cacheManager.createCache(queryRegion, region(querySize, expiry));
+        }
+        // Sem limite nem expiração: um timestamp perdido faria consultas desatualizadas parecerem válidas
+        cacheManager.createCache(CacheRegions.UPDATE_TIMESTAMPS, region(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(Long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Por referência: o Hibernate já guarda entradas desmontadas, sem precisar de cópias
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        return configuration;
+    }
+}
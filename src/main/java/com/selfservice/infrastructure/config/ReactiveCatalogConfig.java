@@ -0,0 +1,115 @@
+package com.selfservice.infrastructure.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ContextPathCompositeHandler;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selfservice.application.controller.ProductCatalogHandler;
+import com.selfservice.infrastructure.cache.CatalogVersion;
+import com.selfservice.infrastructure.pagination.ProductCountEstimator;
+import com.selfservice.infrastructure.reactive.ReactiveCatalogServer;
+import com.selfservice.infrastructure.reactive.ReactiveProductRepository;
+import com.selfservice.infrastructure.security.JwtHandlerFilter;
+import com.selfservice.infrastructure.security.TokenRevocationList;
+import com.selfservice.infrastructure.security.VerifiedTokenCache;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * Pilha reativa de leitura do catálogo ({@code app.reactive.enabled=true}): Reactor Netty na
+ * porta {@code app.reactive.port} e R2DBC com pool próprio. Atende apenas os GET de
+ * {@code /products}, pensado para os quiosques; escritas e demais rotas continuam no Tomcat
+ * com JPA. As rotas exigem o mesmo token JWT do Tomcat, conferido por {@link JwtHandlerFilter}.
+ *
+ * <p>A autoconfiguração de R2DBC do Spring Boot fica desligada em
+ * {@code SelfServiceApplication}: ela registraria um segundo gerenciador de transações ao
+ * lado do JPA.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool catalogConnectionFactory(
+            @Value("${app.reactive.r2dbc.url}") String url,
+            @Value("${app.reactive.r2dbc.username:${spring.datasource.username}}") String username,
+            @Value("${app.reactive.r2dbc.password:${spring.datasource.password}}") String password,
+            @Value("${app.reactive.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${app.reactive.r2dbc.pool.max-acquire-time:20s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("SelfServiceCatalogPool")
+                .initialSize(1)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public ReactiveProductRepository reactiveProductRepository(
+            ConnectionPool catalogConnectionFactory,
+            @Value("${app.reactive.fetch-size:500}") int fetchSize) {
+        return new ReactiveProductRepository(DatabaseClient.create(catalogConnectionFactory), fetchSize);
+    }
+
+    @Bean
+    public ProductCatalogHandler productCatalogHandler(
+            ReactiveProductRepository reactiveProductRepository,
+            CatalogVersion catalogVersion,
+            ProductCountEstimator productCountEstimator) {
+        return new ProductCatalogHandler(reactiveProductRepository, catalogVersion, productCountEstimator);
+    }
+
+    @Bean
+    public JwtHandlerFilter jwtHandlerFilter(
+            VerifiedTokenCache verifiedTokenCache,
+            TokenRevocationList tokenRevocationList,
+            UserDetailsService userDetailsService,
+            @Value("${app.jwt.authentication-source:claims}") String authenticationSource) {
+        return new JwtHandlerFilter(verifiedTokenCache, tokenRevocationList, userDetailsService, authenticationSource);
+    }
+
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(
+            ProductCatalogHandler productCatalogHandler,
+            JwtHandlerFilter jwtHandlerFilter,
+            ObjectMapper objectMapper,
+            @Value("${server.servlet.context-path:}") String contextPath,
+            @Value("${app.reactive.port:8081}") int port,
+            @Value("${app.reactive.event-loop-threads:0}") int eventLoopThreads,
+            @Value("${app.reactive.idle-timeout:60s}") Duration idleTimeout) {
+        // Mesmo ObjectMapper do Spring MVC: datas e números serializados de forma idêntica
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(
+                productCatalogHandler.routes().filter(jwtHandlerFilter), strategies);
+        if (!contextPath.isEmpty()) {
+            // Mesmo prefixo (/api) do Tomcat
+            httpHandler = new ContextPathCompositeHandler(Map.of(contextPath, httpHandler));
+        }
+        return new ReactiveCatalogServer(httpHandler, port, eventLoopThreads, idleTimeout);
+    }
+}
@@ -0,0 +1,25 @@
+package com.selfservice.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selfservice.infrastructure.cache.OffHeapResponseCache;
+import com.selfservice.infrastructure.cache.ProductPageCacheFilter;
+
+@Configuration
+public class ResponseCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.response.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ProductPageCacheFilter> productPageCacheFilter(OffHeapResponseCache responseCache) {
+        FilterRegistrationBean<ProductPageCacheFilter> registration =
+                new FilterRegistrationBean<>(new ProductPageCacheFilter(responseCache));
+        registration.addUrlPatterns("/products/paged");
+        // Depois do Spring Security: acertos no cache continuam exigindo autenticação
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
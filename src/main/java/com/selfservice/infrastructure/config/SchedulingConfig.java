@@ -0,0 +1,10 @@
+package com.selfservice.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Tarefas periódicas, como a sincronização e a limpeza de {@code TokenRevocationList}. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
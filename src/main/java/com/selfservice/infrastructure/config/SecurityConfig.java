@@ -1,5 +1,8 @@
 package com.selfservice.infrastructure.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,25 +18,42 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.selfservice.infrastructure.security.BCryptCostCalibrator;
+import com.selfservice.infrastructure.security.BulkheadPasswordEncoder;
 import com.selfservice.infrastructure.security.CustomUserDetailsService;
 import com.selfservice.infrastructure.security.JwtAuthenticationFilter;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /** Caminhos sem autenticação; o {@link JwtAuthenticationFilter} nem roda neles. */
+    public static final String[] PUBLIC_PATHS = {
+        "/v3/api-docs/**",
+        "/swagger-ui/**",
+        "/swagger-ui.html",
+        "/swagger-resources/**",
+        "/webjars/**",
+        "/api-docs/**",
+        "/auth/**"
+    };
+
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Hash com custo menor que o configurado é refeito no login bem-sucedido
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -42,29 +62,36 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt com custo fixo ({@code bcrypt-strength}) ou calibrado para
+     * {@code target-duration} nesta máquina, executado no pool isolado de
+     * {@link BulkheadPasswordEncoder}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BulkheadPasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hashing.bcrypt-strength:0}") int strength,
+            @Value("${app.security.password-hashing.target-duration:250ms}") Duration targetDuration,
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${app.security.password-hashing.retry-after:2s}") Duration retryAfter) {
+        int cost = strength > 0 ? strength : BCryptCostCalibrator.calibrate(targetDuration);
+        // Metade dos núcleos por padrão: a outra metade fica para o catálogo durante um ataque
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        log.info("BCrypt com custo {} em {} threads (fila de {})", cost, poolSize, queueCapacity);
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(cost), poolSize, queueCapacity, retryAfter);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider)
+            throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authorize -> authorize
-                .requestMatchers(
-                    "/v3/api-docs/**",
-                    "/swagger-ui/**",
-                    "/swagger-ui.html",
-                    "/swagger-resources/**",
-                    "/webjars/**",
-                    "/api-docs/**",
-                    "/auth/**"
-                ).permitAll()
+                .requestMatchers(PUBLIC_PATHS).permitAll()
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
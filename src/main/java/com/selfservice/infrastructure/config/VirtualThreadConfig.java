@@ -0,0 +1,60 @@
+package com.selfservice.infrastructure.config;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code app.server.threads=virtual}: cada requisição do Tomcat, e cada resposta assíncrona
+ * ({@code StreamingResponseBody}), roda numa thread virtual, então esperar JDBC não ocupa uma
+ * thread de plataforma. O acesso ao banco continua limitado pelo
+ * {@code ConcurrencyLimitingDataSource}.
+ *
+ * <p>O projeto compila para Java 17; o executor é obtido por reflexão e exige Java 21 em
+ * execução. Para encontrar trechos que prendem a thread portadora, rode com
+ * {@code -Djdk.tracePinnedThreads=short}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.server.threads", havingValue = "virtual")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class))
+                    .invoke();
+            log.info("Requisições em threads virtuais");
+            return executor;
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalStateException("app.server.threads=virtual exige Java 21 ou superior; em execução: "
+                    + Runtime.version(), ex);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", ex);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /** Substitui o pool da autoconfiguração usado pelo Spring MVC nas respostas assíncronas. */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
@@ -0,0 +1,88 @@
+package com.selfservice.infrastructure.datasource;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read-your-writes com réplica assíncrona. Toda requisição de escrita devolve, em cookie e
+ * no cabeçalho {@value #HEADER}, o instante (epoch em ms) até o qual o cliente deve ler do
+ * primário; requisições que o trazem dentro da janela rodam fixadas no primário.
+ *
+ * <p>A janela deve cobrir o atraso de replicação. Valores além de agora + janela são
+ * ignorados, para que um cliente não consiga fixar-se no primário indefinidamente.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "primary-until";
+    static final String HEADER = "X-Primary-Until";
+
+    private final Duration window;
+    private final Clock clock;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = clock.millis();
+        boolean write = !isSafe(request.getMethod());
+        if (write) {
+            // Antes da cadeia: depois dela a resposta pode já ter sido enviada
+            long until = now + window.toMillis();
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(until))
+                    .path(request.getContextPath().isEmpty() ? "/" : request.getContextPath())
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            response.setHeader(HEADER, Long.toString(until));
+        }
+
+        long primaryUntil = primaryUntil(request);
+        if (!write && (primaryUntil <= now || primaryUntil > now + window.toMillis())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private static boolean isSafe(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method) || HttpMethod.TRACE.matches(method);
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+        if (value == null) {
+            Cookie cookie = WebUtils.getCookie(request, COOKIE);
+            value = cookie != null ? cookie.getValue() : null;
+        }
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.selfservice.infrastructure.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.cache.CatalogVersion;
+
+/**
+ * Janela, aberta a cada escrita no catálogo, em que todas as leituras vão para o primário.
+ * As ETags das listagens vêm de {@code CatalogVersion}, que muda na hora da escrita; lido
+ * de uma réplica ainda atrasada, o corpo antigo sairia com a ETag nova e ficaria no cache
+ * do cliente até a próxima mudança. Passada a janela, que deve cobrir o atraso de
+ * replicação, as leituras voltam para a réplica.
+ */
+public class ReplicaCatchUpWindow {
+
+    private final Duration window;
+    private final Clock clock;
+    private final AtomicLong primaryUntil = new AtomicLong();
+
+    public ReplicaCatchUpWindow(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @EventListener
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void onProductChanged(ProductChangedEvent event) {
+        open();
+    }
+
+    @EventListener
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        open();
+    }
+
+    public boolean isOpen() {
+        return clock.millis() < primaryUntil.get();
+    }
+
+    void open() {
+        primaryUntil.accumulateAndGet(clock.millis() + window.toMillis(), Math::max);
+    }
+}
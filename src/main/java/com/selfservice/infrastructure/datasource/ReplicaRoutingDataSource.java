@@ -0,0 +1,79 @@
+package com.selfservice.infrastructure.datasource;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Encaminha transações {@code readOnly} para a réplica de leitura e todo o resto para o
+ * primário. Precisa ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: o gerenciador
+ * de transações pede a conexão antes de marcar a transação como somente leitura, e o proxy
+ * adia a escolha até o primeiro comando.
+ *
+ * <p>Uma thread fixada no primário ({@link #pinToPrimary()}) ignora a réplica mesmo em
+ * transações de leitura; é assim que {@link ReadYourWritesFilter} garante que um cliente
+ * veja as próprias escritas. Carregamentos de cache rodam fixados ({@link #onPrimary}):
+ * o valor fica guardado até a próxima escrita, e um valor lido de uma réplica atrasada
+ * ficaria guardado junto. Com um {@link ReplicaCatchUpWindow}, todas as leituras também vão
+ * para o primário logo após cada escrita no catálogo.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final ReplicaCatchUpWindow catchUpWindow;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        this(primary, replica, null);
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaCatchUpWindow catchUpWindow) {
+        this.catchUpWindow = catchUpWindow;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /** Executa {@code action} fixado no primário, mantendo a fixação de quem já estava fixado. */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPinned()) {
+            return action.get();
+        }
+        pinToPrimary();
+        try {
+            return action.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPinned()
+                && (catchUpWindow == null || !catchUpWindow.isOpen())
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+}
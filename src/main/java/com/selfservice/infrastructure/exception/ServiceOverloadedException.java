@@ -0,0 +1,21 @@
+package com.selfservice.infrastructure.exception;
+
+import java.time.Duration;
+
+/**
+ * Capacidade de um recurso esgotada: a requisição é recusada na hora, com 503 e
+ * {@code Retry-After}, em vez de esperar numa fila sem limite.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
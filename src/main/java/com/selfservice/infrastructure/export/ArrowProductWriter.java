@@ -0,0 +1,327 @@
+package com.selfservice.infrastructure.export;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.arrow.flatbuf.Buffer;
+import org.apache.arrow.flatbuf.Decimal;
+import org.apache.arrow.flatbuf.Endianness;
+import org.apache.arrow.flatbuf.Field;
+import org.apache.arrow.flatbuf.FieldNode;
+import org.apache.arrow.flatbuf.Int;
+import org.apache.arrow.flatbuf.Message;
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.flatbuf.MetadataVersion;
+import org.apache.arrow.flatbuf.RecordBatch;
+import org.apache.arrow.flatbuf.Schema;
+import org.apache.arrow.flatbuf.Type;
+import org.apache.arrow.flatbuf.Utf8;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+
+/**
+ * Converte a saída de {@code COPY ... TO STDOUT (FORMAT binary)} de
+ * {@link ProductExportQuery#binary} em um stream Arrow IPC com as colunas
+ * {@code id: int64}, {@code name: utf8}, {@code description: utf8} e
+ * {@code price: decimal(38, 2)}.
+ *
+ * <p>Os campos são lidos direto para buffers de coluna reaproveitados entre lotes, sem
+ * criar objetos por linha; a cada {@code batchRows} linhas os buffers viram um record
+ * batch. A memória usada depende do tamanho do lote, não do catálogo.
+ */
+public class ArrowProductWriter {
+
+    private static final byte[] COPY_SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+    private static final int CONTINUATION = 0xFFFFFFFF;
+    private static final int ALIGNMENT = 8;
+    private static final int COLUMNS = 4;
+
+    private final OutputStream out;
+    private final int batchRows;
+    private final byte[] scratch = new byte[8];
+
+    private final ColumnBuffer ids = new ColumnBuffer();
+    private final TextColumn name = new TextColumn();
+    private final TextColumn description = new TextColumn();
+    private final ColumnBuffer priceValidity = new ColumnBuffer();
+    private final ColumnBuffer prices = new ColumnBuffer();
+    private int priceNulls;
+    private int rows;
+
+    public ArrowProductWriter(OutputStream out, int batchRows) {
+        this.out = out;
+        this.batchRows = batchRows;
+    }
+
+    /** Escreve o schema, os lotes e o marcador de fim; devolve a quantidade de linhas. */
+    public long write(DataInputStream copy) throws IOException {
+        readHeader(copy);
+        writeSchema();
+        long total = 0;
+        reset();
+        while (copy.readShort() != -1) {
+            ids.putLong(readLong(copy));
+            name.read(copy, rows);
+            description.read(copy, rows);
+            readPrice(copy);
+            total++;
+            if (++rows == batchRows) {
+                writeBatch();
+                reset();
+            }
+        }
+        if (rows > 0) {
+            writeBatch();
+        }
+        writeInt(CONTINUATION);
+        writeInt(0);
+        out.flush();
+        return total;
+    }
+
+    private static void readHeader(DataInputStream copy) throws IOException {
+        byte[] signature = new byte[COPY_SIGNATURE.length];
+        copy.readFully(signature);
+        if (!Arrays.equals(signature, COPY_SIGNATURE)) {
+            throw new IOException("Saída do COPY não está no formato binário");
+        }
+        copy.readInt(); // flags
+        copy.skipNBytes(copy.readInt());
+    }
+
+    private static long readLong(DataInputStream copy) throws IOException {
+        int length = copy.readInt();
+        if (length != Long.BYTES) {
+            throw new IOException("Campo int8 com tamanho inesperado: " + length);
+        }
+        return copy.readLong();
+    }
+
+    private void readPrice(DataInputStream copy) throws IOException {
+        if (copy.readInt() == -1) {
+            priceNulls++;
+            prices.putLong(0).putLong(0);
+            return;
+        }
+        long cents = copy.readLong();
+        priceValidity.setBit(rows);
+        // decimal128 little-endian: 64 bits baixos e a extensão de sinal
+        prices.putLong(cents).putLong(cents < 0 ? -1 : 0);
+    }
+
+    private void reset() {
+        rows = 0;
+        ids.clear();
+        name.clear();
+        description.clear();
+        priceValidity.clear();
+        prices.clear();
+        priceNulls = 0;
+    }
+
+    private void writeSchema() throws IOException {
+        FlatBufferBuilder builder = new FlatBufferBuilder(512);
+        int[] fields = {
+            field(builder, "id", false, Type.Int, Int.createInt(builder, 64, true)),
+            field(builder, "name", true, Type.Utf8, utf8(builder)),
+            field(builder, "description", true, Type.Utf8, utf8(builder)),
+            field(builder, "price", true, Type.Decimal, Decimal.createDecimal(builder, 38, 2, 128))
+        };
+        int fieldsVector = Schema.createFieldsVector(builder, fields);
+        Schema.startSchema(builder);
+        Schema.addEndianness(builder, Endianness.Little);
+        Schema.addFields(builder, fieldsVector);
+        writeMessage(builder, MessageHeader.Schema, Schema.endSchema(builder), 0);
+    }
+
+    private static int utf8(FlatBufferBuilder builder) {
+        Utf8.startUtf8(builder);
+        return Utf8.endUtf8(builder);
+    }
+
+    private static int field(FlatBufferBuilder builder, String fieldName, boolean nullable, byte type, int typeOffset) {
+        int nameOffset = builder.createString(fieldName);
+        // Leitores exigem o vetor de filhos mesmo vazio
+        int children = Field.createChildrenVector(builder, new int[0]);
+        Field.startField(builder);
+        Field.addName(builder, nameOffset);
+        Field.addNullable(builder, nullable);
+        Field.addTypeType(builder, type);
+        Field.addType(builder, typeOffset);
+        Field.addChildren(builder, children);
+        return Field.endField(builder);
+    }
+
+    private void writeBatch() throws IOException {
+        // Ordem dos buffers definida pelo formato: validade, offsets (texto) e dados de cada coluna
+        ColumnBuffer[] buffers = {
+            null, ids,
+            name.validity(rows), name.offsets, name.data,
+            description.validity(rows), description.offsets, description.data,
+            priceNulls > 0 ? priceValidity.extendTo(bitmapLength(rows)) : null, prices
+        };
+        int[] nullCounts = {0, name.nulls, description.nulls, priceNulls};
+
+        FlatBufferBuilder builder = new FlatBufferBuilder(512);
+        RecordBatch.startBuffersVector(builder, buffers.length);
+        long bodyLength = 0;
+        for (ColumnBuffer buffer : buffers) {
+            bodyLength += align(length(buffer));
+        }
+        // Vetores de structs são montados de trás para frente
+        long offset = bodyLength;
+        for (int i = buffers.length - 1; i >= 0; i--) {
+            offset -= align(length(buffers[i]));
+            Buffer.createBuffer(builder, offset, length(buffers[i]));
+        }
+        int buffersVector = builder.endVector();
+        RecordBatch.startNodesVector(builder, COLUMNS);
+        for (int i = COLUMNS - 1; i >= 0; i--) {
+            FieldNode.createFieldNode(builder, rows, nullCounts[i]);
+        }
+        int nodesVector = builder.endVector();
+        RecordBatch.startRecordBatch(builder);
+        RecordBatch.addLength(builder, rows);
+        RecordBatch.addNodes(builder, nodesVector);
+        RecordBatch.addBuffers(builder, buffersVector);
+        writeMessage(builder, MessageHeader.RecordBatch, RecordBatch.endRecordBatch(builder), bodyLength);
+
+        for (ColumnBuffer buffer : buffers) {
+            if (buffer != null) {
+                buffer.writeTo(out);
+                pad(length(buffer));
+            }
+        }
+    }
+
+    private void writeMessage(FlatBufferBuilder builder, byte headerType, int header, long bodyLength)
+            throws IOException {
+        int message = Message.createMessage(builder, MetadataVersion.V5, headerType, header, bodyLength, 0);
+        builder.finish(message);
+        byte[] metadata = builder.sizedByteArray();
+        writeInt(CONTINUATION);
+        writeInt((int) align(metadata.length));
+        out.write(metadata);
+        pad(metadata.length);
+    }
+
+    private void writeInt(int value) throws IOException {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            scratch[i] = (byte) (value >>> (8 * i));
+        }
+        out.write(scratch, 0, Integer.BYTES);
+    }
+
+    private void pad(int length) throws IOException {
+        Arrays.fill(scratch, (byte) 0);
+        out.write(scratch, 0, (int) (align(length) - length));
+    }
+
+    private static int length(ColumnBuffer buffer) {
+        return buffer == null ? 0 : buffer.size;
+    }
+
+    private static int bitmapLength(int rows) {
+        return (rows + 7) / 8;
+    }
+
+    private static long align(long length) {
+        return (length + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /** Coluna utf8: bitmap de validade, offsets int32 e os bytes concatenados. */
+    private static final class TextColumn {
+
+        private final ColumnBuffer validityBitmap = new ColumnBuffer();
+        private final ColumnBuffer offsets = new ColumnBuffer();
+        private final ColumnBuffer data = new ColumnBuffer();
+        private int nulls;
+
+        void read(DataInputStream copy, int row) throws IOException {
+            int length = copy.readInt();
+            if (length == -1) {
+                nulls++;
+            } else {
+                validityBitmap.setBit(row);
+                data.read(copy, length);
+            }
+            offsets.putInt(data.size);
+        }
+
+        /** Sem nulos, o bitmap pode ser omitido. */
+        ColumnBuffer validity(int rows) {
+            return nulls > 0 ? validityBitmap.extendTo(bitmapLength(rows)) : null;
+        }
+
+        void clear() {
+            validityBitmap.clear();
+            offsets.clear();
+            data.clear();
+            offsets.putInt(0);
+            nulls = 0;
+        }
+    }
+
+    /** Buffer little-endian que cresce conforme a necessidade e é reaproveitado entre lotes. */
+    private static final class ColumnBuffer {
+
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        ColumnBuffer putInt(int value) {
+            ensure(Integer.BYTES);
+            for (int i = 0; i < Integer.BYTES; i++) {
+                bytes[size++] = (byte) (value >>> (8 * i));
+            }
+            return this;
+        }
+
+        ColumnBuffer putLong(long value) {
+            ensure(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                bytes[size++] = (byte) (value >>> (8 * i));
+            }
+            return this;
+        }
+
+        void read(DataInputStream in, int length) throws IOException {
+            ensure(length);
+            in.readFully(bytes, size, length);
+            size += length;
+        }
+
+        /** Marca a linha como válida num bitmap (bit menos significativo primeiro). */
+        void setBit(int index) {
+            extendTo((index >>> 3) + 1);
+            bytes[index >>> 3] |= (byte) (1 << (index & 7));
+        }
+
+        /** Completa com zeros até {@code length} bytes; um bitmap deve cobrir todas as linhas. */
+        ColumnBuffer extendTo(int length) {
+            if (length > size) {
+                ensure(length - size);
+                size = length;
+            }
+            return this;
+        }
+
+        void clear() {
+            // Bitmaps dependem de bytes zerados
+            Arrays.fill(bytes, 0, size, (byte) 0);
+            size = 0;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        private void ensure(int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+    }
+}
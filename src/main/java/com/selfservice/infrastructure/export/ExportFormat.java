@@ -0,0 +1,40 @@
+package com.selfservice.infrastructure.export;
+
+import org.springframework.http.MediaType;
+
+import com.selfservice.infrastructure.exception.BusinessException;
+
+/** Formatos de exportação do catálogo. */
+public enum ExportFormat {
+
+    /** CSV com cabeçalho, gerado pelo próprio Postgres. */
+    CSV("text/csv", "csv"),
+
+    /** Arrow IPC (streaming format), colunar, para consumidores analíticos. */
+    ARROW("application/vnd.apache.arrow.stream", "arrows");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat of(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value) || format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException("Formato de exportação inválido: " + value + ". Use csv ou arrow");
+    }
+}
@@ -0,0 +1,72 @@
+package com.selfservice.infrastructure.export;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+import org.postgresql.core.Utils;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+
+/**
+ * Monta os comandos {@code COPY ... TO STDOUT} da exportação. O {@code COPY} não aceita
+ * parâmetros, então os filtros entram como literais escapados pelo driver; a semântica
+ * é a mesma de {@code ProductSpecification} e da busca textual de
+ * {@code ProductRepositoryCustomImpl}.
+ */
+public final class ProductExportQuery {
+
+    private ProductExportQuery() {
+    }
+
+    /** CSV com cabeçalho: {@code id,name,description,price}. */
+    public static String csv(ProductFilterDTO filter, boolean standardConformingStrings) throws SQLException {
+        return "COPY (SELECT p.id, p.name, p.description, p.price FROM product p"
+                + where(filter, standardConformingStrings)
+                + " ORDER BY p.id) TO STDOUT (FORMAT csv, HEADER)";
+    }
+
+    /**
+     * Formato binário do {@code COPY}, lido por {@link ArrowProductWriter}. O preço vai em
+     * centavos ({@code int8}), que o Arrow representa como decimal de escala 2.
+     */
+    public static String binary(ProductFilterDTO filter, boolean standardConformingStrings) throws SQLException {
+        return "COPY (SELECT p.id, p.name, p.description, (p.price * 100)::bigint FROM product p"
+                + where(filter, standardConformingStrings)
+                + " ORDER BY p.id) TO STDOUT (FORMAT binary)";
+    }
+
+    static String where(ProductFilterDTO filter, boolean standardConformingStrings) throws SQLException {
+        StringBuilder where = new StringBuilder();
+        if (filter.getSearch() != null && !filter.getSearch().isBlank()) {
+            String search = literal(filter.getSearch(), standardConformingStrings);
+            where.append(" AND (p.search_vector @@ websearch_to_tsquery('portuguese', ").append(search)
+                    .append(") OR lower(p.name) % lower(").append(search).append("))");
+        }
+        if (filter.getName() != null && !filter.getName().isEmpty()) {
+            where.append(" AND lower(p.name) LIKE ")
+                    .append(literal("%" + filter.getName().toLowerCase() + "%", standardConformingStrings));
+        }
+        if (filter.getDescription() != null && !filter.getDescription().isEmpty()) {
+            where.append(" AND lower(p.description) LIKE ")
+                    .append(literal("%" + filter.getDescription().toLowerCase() + "%", standardConformingStrings));
+        }
+        if (filter.getMinPrice() != null) {
+            where.append(" AND p.price >= ").append(number(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            where.append(" AND p.price <= ").append(number(filter.getMaxPrice()));
+        }
+        return where.isEmpty() ? "" : " WHERE" + where.substring(" AND".length());
+    }
+
+    private static String literal(String value, boolean standardConformingStrings) throws SQLException {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('\'');
+        Utils.escapeLiteral(literal, value, standardConformingStrings);
+        return literal.append('\'').toString();
+    }
+
+    private static String number(BigDecimal value) {
+        // toPlainString só produz dígitos, sinal e ponto: seguro sem aspas
+        return value.toPlainString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.selfservice.infrastructure.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura e escrita de registros CSV no formato RFC 4180, que é também o aceito pelo
+ * {@code COPY ... (FORMAT csv)} do Postgres.
+ */
+final class Csv {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private Csv() {
+    }
+
+    /**
+     * Separa um registro em campos. Campos vazios sem aspas viram {@code null}; entre
+     * aspas, viram texto vazio.
+     *
+     * @throws IllegalArgumentException se houver aspas sem fechamento
+     */
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (inQuotes) {
+                if (c != QUOTE) {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == SEPARATOR) {
+                fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                field.setLength(0);
+                quoted = false;
+            } else if (c == QUOTE && field.length() == 0 && !quoted) {
+                quoted = true;
+                inQuotes = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("aspas sem fechamento");
+        }
+        fields.add(quoted || field.length() > 0 ? field.toString() : null);
+        return fields;
+    }
+
+    /** Indica se o texto tem aspas abertas, isto é, se o registro continua na próxima linha. */
+    static boolean hasOpenQuote(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == QUOTE) {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    /** Acrescenta um campo de texto; {@code null} vira campo vazio, que o {@code COPY} lê como NULL. */
+    static void appendText(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        out.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                out.append(QUOTE);
+            }
+            out.append(c);
+        }
+        out.append(QUOTE);
+    }
+}
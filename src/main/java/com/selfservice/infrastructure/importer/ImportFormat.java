@@ -0,0 +1,38 @@
+package com.selfservice.infrastructure.importer;
+
+import org.springframework.http.MediaType;
+
+import com.selfservice.infrastructure.exception.BusinessException;
+
+/** Formatos aceitos pela importação de catálogo. */
+public enum ImportFormat {
+
+    /** CSV (RFC 4180) com cabeçalho; colunas reconhecidas: id, name, description, price. */
+    CSV,
+
+    /** Um objeto JSON por linha, com os campos de {@code ProductRequestDTO} e um id opcional. */
+    NDJSON;
+
+    public static ImportFormat of(String value) {
+        for (ImportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException("Formato de importação inválido: " + value + ". Use csv ou ndjson");
+    }
+
+    /** Formato indicado pelo {@code Content-Type}, ou {@code null} se ele não for conclusivo. */
+    public static ImportFormat of(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return NDJSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.selfservice.infrastructure.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Lê o arquivo de importação um registro por vez. Em CSV, um campo entre aspas pode
+ * conter quebras de linha, então as linhas são juntadas até as aspas fecharem; linhas
+ * em branco são ignoradas nos dois formatos.
+ */
+public class ImportRecordReader {
+
+    /** Limite de um registro: aspas nunca fechadas não podem arrastar o arquivo inteiro para a memória. */
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private long lineNumber;
+
+    public ImportRecordReader(BufferedReader reader, ImportFormat format) {
+        this.reader = reader;
+        this.format = format;
+    }
+
+    /** Próximo registro, ou {@code null} no fim do arquivo. */
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        long start = lineNumber;
+        if (format != ImportFormat.CSV || !Csv.hasOpenQuote(line)) {
+            return new ImportRecord(start, line);
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (Csv.hasOpenQuote(record) && record.length() < MAX_RECORD_LENGTH
+                && (line = reader.readLine()) != null) {
+            lineNumber++;
+            record.append('\n').append(line);
+        }
+        return new ImportRecord(start, record.toString());
+    }
+
+    /**
+     * @param line número da linha do arquivo em que o registro começa (a partir de 1)
+     * @param raw  conteúdo do registro, sem a quebra de linha final
+     */
+    public record ImportRecord(long line, String raw) {
+    }
+}
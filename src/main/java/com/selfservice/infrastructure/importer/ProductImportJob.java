@@ -0,0 +1,79 @@
+package com.selfservice.infrastructure.importer;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * Estado de uma importação de catálogo. Os contadores são atualizados enquanto o
+ * arquivo é processado, e podem ser consultados a qualquer momento para acompanhar
+ * o progresso.
+ */
+@Getter
+public class ProductImportJob {
+
+    public enum Status {
+        /** Aguardando a importação anterior terminar. */
+        QUEUED,
+        /** Lendo, validando e copiando os registros para a tabela de staging. */
+        LOADING,
+        /** Aplicando o upsert da staging em {@code product}. */
+        MERGING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportFormat format;
+    private final Path file;
+    private final Path rejectFile;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long inserted;
+    private volatile long updated;
+    private volatile String error;
+
+    /** O arquivo de rejeitados é criado em {@code workDirectory}, com o id do job no nome. */
+    public ProductImportJob(ImportFormat format, Path file, Path workDirectory) {
+        this.format = format;
+        this.file = file;
+        this.rejectFile = workDirectory.resolve(id + "-rejects.csv");
+    }
+
+    public void start() {
+        startedAt = Instant.now();
+        status = Status.LOADING;
+    }
+
+    public void merging() {
+        status = Status.MERGING;
+    }
+
+    public void complete(long inserted, long updated) {
+        this.inserted = inserted;
+        this.updated = updated;
+        finish(Status.COMPLETED);
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status status) {
+        finishedAt = Instant.now();
+        this.status = status;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,172 @@
+package com.selfservice.infrastructure.importer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.selfservice.application.dto.product.ProductRequestDTO;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.importer.ImportRecordReader.ImportRecord;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Converte registros do arquivo de importação em linhas do {@code COPY} para a tabela
+ * de staging, aplicando as mesmas validações de {@link ProductRequestDTO}. Não guarda
+ * estado entre chamadas: lotes diferentes podem ser processados em paralelo.
+ */
+public class ProductImportParser {
+
+    private final ImportFormat format;
+    private final Validator validator;
+    private final ObjectReader jsonReader;
+    private final int[] columns;
+
+    private ProductImportParser(ImportFormat format, Validator validator, ObjectReader jsonReader, int[] columns) {
+        this.format = format;
+        this.validator = validator;
+        this.jsonReader = jsonReader;
+        this.columns = columns;
+    }
+
+    public static ProductImportParser ndjson(ObjectMapper objectMapper, Validator validator) {
+        return new ProductImportParser(ImportFormat.NDJSON, validator, objectMapper.readerFor(Row.class), null);
+    }
+
+    /**
+     * @param header primeiro registro do CSV; colunas desconhecidas são ignoradas
+     * @throws BusinessException se faltarem as colunas obrigatórias
+     */
+    public static ProductImportParser csv(String header, Validator validator) {
+        List<String> names = Csv.split(stripBom(header));
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i) == null ? "" : names.get(i).trim().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "id" -> columns[0] = i;
+                case "name" -> columns[1] = i;
+                case "description" -> columns[2] = i;
+                case "price" -> columns[3] = i;
+                default -> { }
+            }
+        }
+        if (columns[1] < 0 || columns[3] < 0) {
+            throw new BusinessException("O cabeçalho do CSV deve conter as colunas name e price");
+        }
+        return new ProductImportParser(ImportFormat.CSV, validator, null, columns);
+    }
+
+    private static String stripBom(String header) {
+        return header.startsWith("\uFEFF") ? header.substring(1) : header;
+    }
+
+    public ParsedBatch parse(List<ImportRecord> records) {
+        StringBuilder copy = new StringBuilder(records.size() * 96);
+        List<Rejected> rejected = new ArrayList<>();
+        int accepted = 0;
+        for (ImportRecord record : records) {
+            Row row;
+            try {
+                row = format == ImportFormat.CSV ? fromCsv(record.raw()) : jsonReader.readValue(record.raw());
+            } catch (JsonProcessingException ex) {
+                rejected.add(new Rejected(record, "JSON inválido: " + ex.getOriginalMessage()));
+                continue;
+            } catch (IllegalArgumentException ex) {
+                rejected.add(new Rejected(record, ex.getMessage()));
+                continue;
+            }
+            String error = validate(row);
+            if (error != null) {
+                rejected.add(new Rejected(record, error));
+                continue;
+            }
+            appendCopyLine(copy, record.line(), row);
+            accepted++;
+        }
+        return new ParsedBatch(copy.toString().getBytes(StandardCharsets.UTF_8), accepted, rejected);
+    }
+
+    private Row fromCsv(String raw) {
+        List<String> fields = Csv.split(raw);
+        Row row = new Row();
+        String id = field(fields, columns[0]);
+        String price = field(fields, columns[3]);
+        try {
+            row.setId(id == null || id.isBlank() ? null : Long.valueOf(id.trim()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("id: valor inválido '" + id + "'");
+        }
+        try {
+            row.setPrice(price == null || price.isBlank() ? null : new BigDecimal(price.trim()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("price: valor inválido '" + price + "'");
+        }
+        row.setName(field(fields, columns[1]));
+        row.setDescription(field(fields, columns[2]));
+        return row;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    private String validate(Row row) {
+        if (row == null) {
+            return "Registro vazio";
+        }
+        if (row.getId() != null && row.getId() <= 0) {
+            return "id: O ID deve ser maior que zero";
+        }
+        Set<ConstraintViolation<Row>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /** Colunas de {@code product_import_staging}: line, id, name, description, price. */
+    private static void appendCopyLine(StringBuilder out, long line, Row row) {
+        out.append(line).append(',');
+        if (row.getId() != null) {
+            out.append(row.getId());
+        }
+        out.append(',');
+        Csv.appendText(out, row.getName());
+        out.append(',');
+        Csv.appendText(out, row.getDescription());
+        out.append(',').append(row.getPrice().toPlainString()).append('\n');
+    }
+
+    /** Registro do arquivo: os dados de um produto e, para atualizar um existente, o seu id. */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Row extends ProductRequestDTO {
+        private Long id;
+    }
+
+    /**
+     * Resultado de um lote.
+     *
+     * @param copyData linhas aceitas, já no formato CSV do {@code COPY}
+     * @param accepted quantidade de linhas em {@code copyData}
+     * @param rejected registros recusados, com o motivo
+     */
+    public record ParsedBatch(byte[] copyData, int accepted, List<Rejected> rejected) {
+    }
+
+    public record Rejected(ImportRecord record, String reason) {
+    }
+}
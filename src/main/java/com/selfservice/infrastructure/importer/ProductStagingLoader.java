@@ -0,0 +1,107 @@
+package com.selfservice.infrastructure.importer;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Component;
+
+import com.selfservice.infrastructure.importer.ImportRecordReader.ImportRecord;
+import com.selfservice.infrastructure.importer.ProductImportParser.Rejected;
+
+/**
+ * SQL da importação: uma tabela de staging temporária alimentada por {@code COPY} e
+ * um único upsert dela para {@code product}. Todos os passos rodam na mesma conexão
+ * e transação, aberta pelo chamador.
+ *
+ * <p>Um id no arquivo só atualiza: ids que não existem em {@code product} são recusados
+ * antes do upsert. Criar um produto com id escolhido pelo fornecedor poderia ocupar um id
+ * de um bloco que o Hibernate já reservou da {@code product_seq} (otimizador pooled) e
+ * fazer um {@code save} posterior falhar por chave duplicada; produtos novos recebem
+ * sempre o id da sequência.
+ */
+@Component
+public class ProductStagingLoader {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE product_import_staging (
+                line BIGINT NOT NULL,
+                id BIGINT,
+                name VARCHAR(255) NOT NULL,
+                description VARCHAR(255),
+                price NUMERIC(38, 2) NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING =
+            "COPY product_import_staging (line, id, name, description, price) FROM STDIN (FORMAT csv)";
+
+    private static final String REMOVE_UNKNOWN_IDS = """
+            WITH removed AS (
+                DELETE FROM product_import_staging staging
+                WHERE staging.id IS NOT NULL
+                  AND NOT EXISTS (SELECT 1 FROM product WHERE product.id = staging.id)
+                RETURNING staging.line, staging.id
+            )
+            SELECT line, id FROM removed ORDER BY line
+            """;
+
+    // Um id repetido no arquivo faria o ON CONFLICT tocar a mesma linha duas vezes (erro no
+    // Postgres): vale a última ocorrência. Linhas sem id são todas distintas (chave -line).
+    private static final String UPSERT = """
+            WITH upserted AS (
+                INSERT INTO product (id, name, description, price)
+                SELECT COALESCE(latest.id, nextval('product_seq')), latest.name, latest.description, latest.price
+                FROM (
+                    SELECT DISTINCT ON (COALESCE(id, -line)) id, name, description, price
+                    FROM product_import_staging
+                    ORDER BY COALESCE(id, -line), line DESC
+                ) latest
+                ON CONFLICT (id) DO UPDATE
+                    SET name = EXCLUDED.name, description = EXCLUDED.description, price = EXCLUDED.price
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM upserted
+            """;
+
+    /** Cria a staging e abre o {@code COPY}; nada mais pode rodar na conexão até ele terminar. */
+    public CopyIn beginCopy(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+    }
+
+    /**
+     * Tira da staging as linhas com id inexistente em {@code product}, gravando-as em
+     * {@code rejects}, e devolve quantas foram. O registro original já não está disponível
+     * nesse ponto: a coluna {@code record} fica vazia e o motivo traz o id.
+     */
+    public long rejectUnknownIds(Connection connection, RejectFileWriter rejects) throws SQLException, IOException {
+        long count = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(REMOVE_UNKNOWN_IDS)) {
+            while (rows.next()) {
+                rejects.write(new Rejected(new ImportRecord(rows.getLong(1), ""),
+                        "Produto " + rows.getLong(2) + " não existe; id no arquivo só atualiza produtos existentes"));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public MergeResult merge(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(UPSERT)) {
+            rows.next();
+            return new MergeResult(rows.getLong(1), rows.getLong(2));
+        }
+    }
+
+    public record MergeResult(long inserted, long updated) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.selfservice.infrastructure.importer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.selfservice.infrastructure.importer.ProductImportParser.Rejected;
+
+/**
+ * Grava os registros recusados num CSV com as colunas {@code line}, {@code reason} e
+ * {@code record} (o registro original, para ser corrigido e reenviado).
+ */
+public class RejectFileWriter implements Closeable {
+
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder();
+
+    public RejectFileWriter(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write("line,reason,record\n");
+    }
+
+    public void write(Rejected rejected) throws IOException {
+        line.setLength(0);
+        line.append(rejected.record().line()).append(',');
+        Csv.appendText(line, rejected.reason());
+        line.append(',');
+        Csv.appendText(line, rejected.record().raw());
+        writer.append(line).append('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
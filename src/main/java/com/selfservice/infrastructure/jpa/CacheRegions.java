@@ -0,0 +1,27 @@
+package com.selfservice.infrastructure.jpa;
+
+import java.util.List;
+
+import org.hibernate.cache.spi.RegionFactory;
+
+/** Regiões do cache de segundo nível do Hibernate, criadas em {@code HibernateConfig}. */
+public final class CacheRegions {
+
+    public static final String USER = "user";
+    public static final String USER_ROLES = "user-roles";
+
+    /** Consultas por {@code ProductSpecification}: listagens e contagens das combinações de filtro mais usadas. */
+    public static final String PRODUCT_QUERIES = "product-queries";
+    /** Ids devolvidos por {@code UserRepository.findByEmail}; a entidade vem da região {@link #USER}. */
+    public static final String USER_BY_EMAIL = "user-by-email";
+
+    /** Regiões padrão do Hibernate, criadas mesmo sem consultas que as usem. */
+    public static final String DEFAULT_QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    public static final List<String> DOMAIN = List.of(USER, USER_ROLES);
+    public static final List<String> QUERIES = List.of(PRODUCT_QUERIES, USER_BY_EMAIL, DEFAULT_QUERY_RESULTS);
+
+    private CacheRegions() {
+    }
+}
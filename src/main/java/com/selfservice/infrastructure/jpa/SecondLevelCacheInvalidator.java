@@ -0,0 +1,72 @@
+package com.selfservice.infrastructure.jpa;
+
+import java.util.function.BiConsumer;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escritas de produto que não passam pelo Hibernate ({@code UPDATE}/{@code DELETE} via JDBC e
+ * a importação por {@code COPY}) não tocam os timestamps que invalidam o cache de consultas.
+ * Elas marcam o espaço {@code product} como o Hibernate faz nos próprios comandos em massa:
+ * {@link #beforeProductWrite()} o invalida até o fim do timeout da região, e nada guardado
+ * nesse intervalo vale; {@link #afterProductWrite()}, depois do commit, grava o instante
+ * atual. Uma leitura que começou antes do commit fica com timestamp anterior e é descartada
+ * na consulta seguinte, mesmo que tenha chegado ao cache depois da escrita.
+ *
+ * <p>Os timestamps são locais: escritas de outras instâncias só aparecem quando a entrada
+ * vence ({@code app.cache.hibernate.query.product-expire-after-write}). A entidade
+ * {@code Product} fica fora do cache de segundo nível: o único cache por id é o
+ * {@code ProductCache}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidator {
+
+    /** Espaço de consultas da tabela {@code product}, o mesmo que o Hibernate usa para a entidade. */
+    static final String[] PRODUCT_SPACES = {"product"};
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /** Antes da escrita, ainda fora da transação dela ou no seu início. */
+    public void beforeProductWrite() {
+        withTimestamps((timestamps, session) -> timestamps.preInvalidate(PRODUCT_SPACES, session));
+    }
+
+    /**
+     * Depois da escrita, com commit ou rollback. Dentro de uma transação do Spring, espera
+     * o fim dela; sem transação, a escrita já foi confirmada.
+     */
+    public void afterProductWrite() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        withTimestamps((timestamps, session) -> timestamps.invalidate(PRODUCT_SPACES, session));
+    }
+
+    private void withTimestamps(BiConsumer<TimestampsCache, SharedSessionContractImplementor> action) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        // A sessão só serve para eventos e estatísticas; sem estado, ela não abre conexão
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            action.accept(sessionFactory.getCache().getTimestampsCache(), (SharedSessionContractImplementor) session);
+        }
+    }
+}
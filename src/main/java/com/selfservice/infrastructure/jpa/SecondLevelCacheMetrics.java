@@ -0,0 +1,58 @@
+package com.selfservice.infrastructure.jpa;
+
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Taxa de acerto de cada região do cache de segundo nível
+ * ({@code hibernate.second.level.cache.hit.ratio}), calculada a partir das estatísticas do
+ * Hibernate; as contagens brutas já saem em {@code hibernate.second.level.cache.requests}.
+ * Só é publicada com as estatísticas ligadas ({@code HIBERNATE_STATISTICS=true}); sem elas
+ * os contadores não andam.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String region : CacheRegions.DOMAIN) {
+            hitRatio(registry, region, () -> statistics.getDomainDataRegionStatistics(region));
+        }
+        for (String region : CacheRegions.QUERIES) {
+            hitRatio(registry, region, () -> statistics.getQueryRegionStatistics(region));
+        }
+    }
+
+    private static void hitRatio(MeterRegistry registry, String region, Supplier<CacheRegionStatistics> statistics) {
+        Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, SecondLevelCacheMetrics::hitRatio)
+                .description("Acertos sobre o total de leituras da região")
+                .tag("region", region)
+                .register(registry);
+    }
+
+    static double hitRatio(Supplier<CacheRegionStatistics> supplier) {
+        CacheRegionStatistics statistics = supplier.get();
+        if (statistics == null) {
+            return Double.NaN;
+        }
+        long requests = statistics.getHitCount() + statistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) statistics.getHitCount() / requests;
+    }
+}
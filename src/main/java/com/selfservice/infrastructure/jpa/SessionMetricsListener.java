@@ -0,0 +1,76 @@
+package com.selfservice.infrastructure.jpa;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede, por sessão do Hibernate, o custo que as leituras somente leitura eliminam: tempo de
+ * flush, entidades inspecionadas a cada flush e comparações com o snapshot (dirty check).
+ * Complementa as estatísticas do Hibernate ({@code hibernate.*}), que contam flushes e
+ * carregamentos mas não medem sua duração e ficam desligadas fora das medições
+ * ({@code HIBERNATE_STATISTICS=true}); estes medidores ficam sempre ligados.
+ *
+ * <p>O Hibernate cria uma instância por sessão a partir do nome da classe, sem injeção; os
+ * medidores ficam no registro global do Micrometer, ao qual o Spring Boot adiciona o seu.
+ */
+public class SessionMetricsListener implements SessionEventListener {
+
+    private static final Timer FLUSH = flushTimer("full");
+    private static final Timer AUTO_FLUSH = flushTimer("auto");
+    private static final DistributionSummary FLUSHED_ENTITIES = DistributionSummary
+            .builder("hibernate.session.flush.entities")
+            .description("Entidades gerenciadas inspecionadas em cada flush")
+            .register(Metrics.globalRegistry);
+    private static final Counter DIRTY = dirtyChecks(true);
+    private static final Counter CLEAN = dirtyChecks(false);
+
+    private long flushStart;
+    private long autoFlushStart;
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        FLUSH.record(System.nanoTime() - flushStart, TimeUnit.NANOSECONDS);
+        FLUSHED_ENTITIES.record(numberOfEntities);
+    }
+
+    /** Flush automático antes de consultas (FlushMode.AUTO); some com FlushMode.MANUAL. */
+    @Override
+    public void partialFlushStart() {
+        autoFlushStart = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        AUTO_FLUSH.record(System.nanoTime() - autoFlushStart, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void dirtyCalculationEnd(boolean dirty) {
+        (dirty ? DIRTY : CLEAN).increment();
+    }
+
+    private static Timer flushTimer(String type) {
+        return Timer.builder("hibernate.session.flush")
+                .description("Duração dos flushes da sessão")
+                .tag("type", type)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Counter dirtyChecks(boolean dirty) {
+        return Counter.builder("hibernate.session.dirty.checks")
+                .description("Comparações de entidades com o snapshot durante o flush")
+                .tag("dirty", Boolean.toString(dirty))
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -1,9 +1,11 @@
 package com.selfservice.infrastructure.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
+import com.selfservice.application.dto.product.ProductPatchDTO;
 import com.selfservice.application.dto.product.ProductRequestDTO;
 import com.selfservice.application.dto.product.ProductResponseDTO;
 import com.selfservice.domain.entity.Product;
@@ -17,6 +19,9 @@ public interface ProductMapper {
     ProductResponseDTO toDTO(Product product);
     
     Product toEntity(ProductRequestDTO dto);
+
+    @Mapping(target = "id", ignore = true)
+    Product toEntity(ProductPatchDTO dto);
     
     void updateEntity(ProductRequestDTO dto, @MappingTarget Product product);
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.selfservice.infrastructure.pagination;
+
+import java.util.Arrays;
+
+import com.selfservice.infrastructure.exception.BusinessException;
+
+/**
+ * Como o total de elementos de uma listagem paginada é obtido.
+ */
+public enum CountMode {
+    /** COUNT(*) completo com os mesmos filtros da página. */
+    EXACT,
+    /** Sem total: apenas indica se existe próxima página. */
+    NONE,
+    /** Total aproximado, vindo das estatísticas do planner ou de uma contagem em cache. */
+    ESTIMATED;
+
+    public static CountMode fromString(String value) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(
+                        "Modo de contagem não suportado: " + value + ". Use exact, none ou estimated"));
+    }
+}
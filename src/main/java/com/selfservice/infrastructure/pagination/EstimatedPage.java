@@ -0,0 +1,44 @@
+package com.selfservice.infrastructure.pagination;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Página cujo total veio de {@link ProductCountEstimator} e pode não ser exato. Em
+ * {@code count=estimated}, as demais páginas trazem o total exato (índices em memória o
+ * conhecem sem custo) e são informadas como tal.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    public EstimatedPage(List<T> content, Pageable pageable, long total) {
+        super(content, pageable, total);
+    }
+
+    /**
+     * Página a partir de uma fatia lida com um item a mais. Sem próxima página, o total é
+     * exato e a estimativa nem é consultada: uma estimativa alta faria a última página
+     * anunciar uma seguinte. Com próxima página, o total é a estimativa, nunca abaixo do
+     * que a fatia comprova. Uma página vazia além do fim informa no máximo o seu offset.
+     */
+    public static <T> Page<T> of(Slice<T> slice, LongSupplier estimate) {
+        Pageable pageable = slice.getPageable();
+        if (isExact(slice)) {
+            return new PageImpl<>(slice.getContent(), pageable, pageable.getOffset() + slice.getNumberOfElements());
+        }
+        if (slice.hasNext()) {
+            long seen = pageable.getOffset() + slice.getNumberOfElements() + 1;
+            return new EstimatedPage<>(slice.getContent(), pageable, Math.max(estimate.getAsLong(), seen));
+        }
+        return new EstimatedPage<>(slice.getContent(), pageable, Math.min(estimate.getAsLong(), pageable.getOffset()));
+    }
+
+    /** Se a fatia sozinha já determina o total, sem consultar a estimativa. */
+    public static boolean isExact(Slice<?> slice) {
+        return !slice.hasNext() && (slice.hasContent() || slice.getPageable().getOffset() == 0);
+    }
+}
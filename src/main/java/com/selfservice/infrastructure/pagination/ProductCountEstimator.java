@@ -0,0 +1,72 @@
+package com.selfservice.infrastructure.pagination;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.infrastructure.cache.CacheLoads;
+import com.selfservice.infrastructure.cache.CatalogVersion;
+import com.selfservice.infrastructure.cache.ExpiringValue;
+import com.selfservice.infrastructure.cache.SingleFlight;
+import com.selfservice.infrastructure.repository.ProductRepository;
+import com.selfservice.infrastructure.specification.ProductSpecification;
+
+/**
+ * Fornece totais aproximados para listagens paginadas. Sem filtros, usa a
+ * estimativa de linhas do planner ({@code pg_class.reltuples}); com filtros,
+ * reaproveita por um curto período a contagem exata já calculada para o
+ * mesmo filtro normalizado, recalculada com antecedência aleatória
+ * ({@link ExpiringValue}) para que contagens populares não vençam juntas.
+ */
+@Component
+public class ProductCountEstimator {
+
+    private final ProductRepository productRepository;
+    private final AsyncCache<ProductFilterKey, ExpiringValue<Long>> counts;
+    private final Duration expireAfterWrite;
+    private final double earlyExpiryBeta;
+    private final SingleFlight<ProductFilterKey, ExpiringValue<Long>> refreshes = new SingleFlight<>();
+
+    public ProductCountEstimator(
+            ProductRepository productRepository,
+            @Value("${app.pagination.count-cache.maximum-size:1000}") long maximumSize,
+            @Value("${app.pagination.count-cache.expire-after-write:1m}") Duration expireAfterWrite,
+            @Value("${app.cache.early-expiry-beta:1.0}") double earlyExpiryBeta) {
+        this.productRepository = productRepository;
+        this.expireAfterWrite = expireAfterWrite;
+        this.earlyExpiryBeta = earlyExpiryBeta;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .buildAsync();
+    }
+
+    @EventListener
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        // Uma importação muda as contagens muito além do que o prazo do cache tolera
+        counts.synchronous().invalidateAll();
+    }
+
+    public long estimate(ProductFilterDTO filter) {
+        ProductFilterKey key = ProductFilterKey.of(filter);
+        if (key.isEmpty()) {
+            // reltuples é -1 (ou 0 em versões antigas) enquanto a tabela não foi analisada
+            long estimate = productRepository.estimateCount();
+            if (estimate > 0) {
+                return estimate;
+            }
+        }
+        return CacheLoads.get(counts, key, k -> ProductSpecification.hasSearch(filter)
+                ? productRepository.countSearch(filter)
+                : productRepository.countFiltered(filter),
+                expireAfterWrite, earlyExpiryBeta, refreshes);
+    }
+}
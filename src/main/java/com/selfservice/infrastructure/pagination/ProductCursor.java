@@ -0,0 +1,58 @@
+package com.selfservice.infrastructure.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import com.selfservice.domain.entity.Product;
+import com.selfservice.infrastructure.exception.BusinessException;
+
+/**
+ * Posição de continuação da paginação por cursor: a ordenação usada, a chave
+ * de ordenação + id do último item entregue e um hash do filtro da página que o
+ * gerou. Trafega como um token opaco (Base64 URL-safe) para o cliente.
+ */
+public record ProductCursor(ProductSortKey sortKey, Sort.Direction direction, String value, Long id, int filterHash) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ProductCursor after(ProductSortKey sortKey, Sort.Direction direction, Product last,
+            ProductFilterKey filter) {
+        return new ProductCursor(sortKey, direction, sortKey.valueOf(last), last.getId(), filter.fingerprint());
+    }
+
+    /**
+     * Com outro filtro, a posição do cursor não corresponde à listagem pedida e as páginas
+     * pulariam ou repetiriam linhas em silêncio.
+     */
+    public void requireFilter(ProductFilterKey filter) {
+        if (filter.fingerprint() != filterHash) {
+            throw new BusinessException("O cursor foi gerado com outros filtros");
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortKey.name(), direction.name(), String.valueOf(id),
+                Integer.toHexString(filterHash), value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // O valor vem por último e pode conter o separador
+            String[] parts = raw.split("\\|", 5);
+            ProductSortKey sortKey = ProductSortKey.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+            int filterHash = Integer.parseUnsignedInt(parts[3], 16);
+            String value = sortKey == ProductSortKey.ID ? null : parts[4];
+            // Valida o valor agora para que um token adulterado resulte em 400, não em erro na consulta
+            sortKey.parseValue(value);
+            return new ProductCursor(sortKey, direction, value, id, filterHash);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new BusinessException("Cursor inválido", ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.selfservice.infrastructure.pagination;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+
+/**
+ * Forma normalizada de um {@link ProductFilterDTO}, usada como chave de cache.
+ * Segue as mesmas regras de {@code ProductSpecification}: texto vazio é
+ * ignorado e a comparação não diferencia maiúsculas, então "Pizza" e "pizza"
+ * (ou 20 e 20.00) produzem a mesma chave.
+ */
+public record ProductFilterKey(String search, String name, String description, BigDecimal minPrice, BigDecimal maxPrice) {
+
+    public static ProductFilterKey of(ProductFilterDTO filter) {
+        return new ProductFilterKey(
+                normalize(filter.getSearch()),
+                normalize(filter.getName()),
+                normalize(filter.getDescription()),
+                normalize(filter.getMinPrice()),
+                normalize(filter.getMaxPrice()));
+    }
+
+    public boolean isEmpty() {
+        return search == null && name == null && description == null && minPrice == null && maxPrice == null;
+    }
+
+    /** Se há filtro por texto; sem ele, resta no máximo a faixa de preço. */
+    public boolean hasText() {
+        return search != null || name != null || description != null;
+    }
+
+    /**
+     * Hash estável entre JVMs e versões do Java, ao contrário do {@code hashCode} do record,
+     * cuja combinação não é especificada: vai em tokens que sobrevivem a um restart.
+     */
+    public int fingerprint() {
+        return Objects.hash(search, name, description, minPrice, maxPrice);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return value.toLowerCase();
+    }
+
+    private static BigDecimal normalize(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros();
+    }
+}
@@ -0,0 +1,58 @@
+package com.selfservice.infrastructure.pagination;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.springframework.data.domain.Sort;
+
+import com.selfservice.domain.entity.Product;
+import com.selfservice.infrastructure.exception.BusinessException;
+
+/**
+ * Ordenações aceitas pela paginação por cursor. Cada uma é sustentada por um
+ * índice composto {@code (coluna, id)} criado na migração V2.
+ */
+public enum ProductSortKey {
+    ID("id"),
+    NAME("name"),
+    PRICE("price");
+
+    private final String property;
+
+    ProductSortKey(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        return this == ID ? sort : sort.and(Sort.by(direction, ID.property));
+    }
+
+    public String valueOf(Product product) {
+        return switch (this) {
+            case ID -> null;
+            case NAME -> product.getName();
+            case PRICE -> product.getPrice().toPlainString();
+        };
+    }
+
+    public Object parseValue(String value) {
+        return switch (this) {
+            case ID -> null;
+            case NAME -> value;
+            case PRICE -> new BigDecimal(value);
+        };
+    }
+
+    public static ProductSortKey fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equalsIgnoreCase(property))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(
+                        "Ordenação não suportada: " + property + ". Use id, name ou price"));
+    }
+}
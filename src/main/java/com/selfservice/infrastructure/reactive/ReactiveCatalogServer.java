@@ -0,0 +1,63 @@
+package com.selfservice.infrastructure.reactive;
+
+import java.time.Duration;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Servidor Reactor Netty do catálogo, numa porta própria ao lado do Tomcat. Poucas threads
+ * de event loop atendem milhares de conexões: nenhuma fica presa esperando o banco ou um
+ * cliente lento, e a escrita na rede só pede mais linhas ao R2DBC quando o socket aceita.
+ */
+@Slf4j
+public class ReactiveCatalogServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final int eventLoopThreads;
+    private final Duration idleTimeout;
+
+    private LoopResources loops;
+    private volatile DisposableServer server;
+
+    public ReactiveCatalogServer(HttpHandler httpHandler, int port, int eventLoopThreads, Duration idleTimeout) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads > 0 ? eventLoopThreads : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void start() {
+        loops = LoopResources.create("catalog-event-loop", eventLoopThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .idleTimeout(idleTimeout)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Catálogo reativo na porta {} com {} threads de event loop", server.port(), eventLoopThreads);
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow();
+            loops.disposeLater().block();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
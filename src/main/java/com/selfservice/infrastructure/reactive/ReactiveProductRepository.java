@@ -0,0 +1,137 @@
+package com.selfservice.infrastructure.reactive;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.pagination.ProductSortKey;
+import com.selfservice.infrastructure.repository.ProductRepositoryCustom;
+import com.selfservice.infrastructure.specification.ProductSpecification;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leituras do catálogo sobre R2DBC, com os mesmos filtros de {@code ProductSpecification}
+ * e da busca textual de {@code ProductRepositoryCustomImpl}. As linhas vão direto para
+ * {@link ProductResponseDTO}, sem entidades.
+ *
+ * <p>Consultas sem limite usam {@code fetchSize}: o driver lê o resultado em blocos de um
+ * portal e só pede o próximo quando o assinante sinaliza demanda, então um cliente lento
+ * segura o cursor no banco em vez de acumular linhas na memória.
+ */
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "SELECT p.id, p.name, p.description, p.price FROM product p";
+    private static final String TS_QUERY = "websearch_to_tsquery('portuguese', :search)";
+    private static final String RANK = "ts_rank(p.search_vector, " + TS_QUERY + ")"
+            + " + similarity(lower(p.name), lower(:search))";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    /** Catálogo inteiro em ordem de id, emitido conforme a demanda do assinante. */
+    public Flux<ProductResponseDTO> findAll() {
+        return databaseClient.sql(COLUMNS + " ORDER BY p.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    public Mono<ProductResponseDTO> findById(Long id) {
+        return databaseClient.sql(COLUMNS + " WHERE p.id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toDTO)
+                .one();
+    }
+
+    public Flux<ProductResponseDTO> findAll(ProductFilterDTO filter, Sort sort, long offset, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String sql = COLUMNS + where(filter, parameters) + orderBy(filter, sort)
+                + " LIMIT :limit OFFSET :offset";
+        parameters.put("limit", limit);
+        parameters.put("offset", offset);
+        return bind(databaseClient.sql(sql), parameters)
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    public Mono<Long> count(ProductFilterDTO filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        return bind(databaseClient.sql("SELECT count(*) FROM product p" + where(filter, parameters)), parameters)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    static String where(ProductFilterDTO filter, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder();
+        if (ProductSpecification.hasSearch(filter)) {
+            // @@ usa o índice GIN do tsvector; % (pg_trgm) cobre erros de digitação no nome
+            where.append(" AND (p.search_vector @@ ").append(TS_QUERY)
+                    .append(" OR lower(p.name) % lower(:search))");
+            parameters.put("search", filter.getSearch());
+        }
+        if (filter.getName() != null && !filter.getName().isEmpty()) {
+            where.append(" AND lower(p.name) LIKE :name");
+            parameters.put("name", "%" + filter.getName().toLowerCase() + "%");
+        }
+        if (filter.getDescription() != null && !filter.getDescription().isEmpty()) {
+            where.append(" AND lower(p.description) LIKE :description");
+            parameters.put("description", "%" + filter.getDescription().toLowerCase() + "%");
+        }
+        if (filter.getMinPrice() != null) {
+            where.append(" AND p.price >= :minPrice");
+            parameters.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            where.append(" AND p.price <= :maxPrice");
+            parameters.put("maxPrice", filter.getMaxPrice());
+        }
+        return where.isEmpty() ? "" : " WHERE" + where.substring(" AND".length());
+    }
+
+    static String orderBy(ProductFilterDTO filter, Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            if (ProductRepositoryCustom.RELEVANCE.equalsIgnoreCase(order.getProperty())) {
+                if (!ProductSpecification.hasSearch(filter)) {
+                    throw new BusinessException("A ordenação por relevância exige o parâmetro search");
+                }
+                orderBy.append(RANK).append(" DESC, ");
+                continue;
+            }
+            // Apenas colunas da lista permitida chegam ao SQL
+            orderBy.append("p.").append(ProductSortKey.fromProperty(order.getProperty()).getProperty())
+                    .append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        return orderBy.append("p.id").toString();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(
+            DatabaseClient.GenericExecuteSpec spec, Map<String, Object> parameters) {
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec;
+    }
+
+    private static ProductResponseDTO toDTO(Readable row) {
+        return new ProductResponseDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class));
+    }
+}
@@ -1,16 +1,67 @@
 package com.selfservice.infrastructure.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.selfservice.application.dto.product.ProductResponseDTO;
 import com.selfservice.domain.entity.Product;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
     
+    String STREAM_FETCH_SIZE = "500";
+    /** Listagens sem LIMIT: linhas trazidas em blocos em vez do resultado inteiro de uma vez. */
+    String LIST_FETCH_SIZE = "1000";
+
+    /** Projeção por construtor: as listagens não hidratam entidades gerenciadas. */
+    String SELECT_RESPONSE = "select new com.selfservice.application.dto.product.ProductResponseDTO("
+            + "p.id, p.name, p.description, p.price) from Product p";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Product> findAll(Pageable pageable);
-    
+
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('product' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = LIST_FETCH_SIZE))
+    @Query(SELECT_RESPONSE)
+    List<ProductResponseDTO> findAllProjected();
+
+    @Query(SELECT_RESPONSE + " where p.id in :ids")
+    List<ProductResponseDTO> findAllProjectedById(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id from Product p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /** Pares (id, preço) ordenados por preço e id, para carregar o índice de preços em memória. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = LIST_FETCH_SIZE))
+    @Query("select p.id, p.price from Product p order by p.price, p.id")
+    List<Object[]> findAllPrices();
+
+    /**
+     * Percorre o catálogo com um cursor do servidor; deve ser consumido dentro de uma transação
+     * para que o driver do Postgres respeite o fetch size.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
+
 } 
\ No newline at end of file
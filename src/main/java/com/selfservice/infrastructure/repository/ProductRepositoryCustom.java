@@ -0,0 +1,58 @@
+package com.selfservice.infrastructure.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.domain.entity.Product;
+
+public interface ProductRepositoryCustom {
+
+    /** Propriedade de ordenação que ordena a busca textual pela relevância. */
+    String RELEVANCE = "relevance";
+
+    /**
+     * Busca uma janela de produtos sem executar a consulta de contagem que
+     * {@code findAll(Specification, Pageable)} sempre dispara.
+     */
+    List<Product> findAll(Specification<Product> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Janela dos produtos que atendem ao filtro, selecionando direto em
+     * {@link ProductResponseDTO}: nenhuma entidade é gerenciada nem ganha snapshot no
+     * contexto de persistência. Sem filtro ou só com faixa de preço, vai para o cache de
+     * consultas; filtros por texto não.
+     */
+    List<ProductResponseDTO> findAllProjected(ProductFilterDTO filter, Sort sort, long offset, int limit);
+
+    /** Total de {@link #findAllProjected(ProductFilterDTO, Sort, long, int)}, com o mesmo cache. */
+    long countFiltered(ProductFilterDTO filter);
+
+    /**
+     * Busca textual indexada (tsvector + GIN e similaridade por trigramas) combinada com os
+     * demais filtros de {@link ProductFilterDTO}. Aceita as ordenações de
+     * {@link com.selfservice.infrastructure.pagination.ProductSortKey} e {@link #RELEVANCE}.
+     */
+    List<ProductResponseDTO> search(ProductFilterDTO filter, Sort sort, long offset, int limit);
+
+    long countSearch(ProductFilterDTO filter);
+
+    /**
+     * Substitui nome, descrição e preço com um único {@code UPDATE ... RETURNING}, sem
+     * carregar a entidade antes. Vazio quando nenhuma linha tem o {@code id}.
+     */
+    Optional<Product> updateById(Long id, Product values);
+
+    /**
+     * Como {@link #updateById(Long, Product)}, mas os campos nulos em {@code changes}
+     * mantêm o valor atual da linha.
+     */
+    Optional<Product> patchById(Long id, Product changes);
+
+    /** {@code DELETE} direto pelo {@code id}; {@code false} quando o produto não existe. */
+    boolean removeById(Long id);
+}
@@ -0,0 +1,237 @@
+package com.selfservice.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.domain.entity.Product;
+import com.selfservice.infrastructure.jpa.CacheRegions;
+import com.selfservice.infrastructure.jpa.SecondLevelCacheInvalidator;
+import com.selfservice.infrastructure.pagination.ProductFilterKey;
+import com.selfservice.infrastructure.pagination.ProductSortKey;
+import com.selfservice.infrastructure.specification.ProductSpecification;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String TS_QUERY = "websearch_to_tsquery('portuguese', :search)";
+    private static final String RANK = "ts_rank(p.search_vector, " + TS_QUERY + ")"
+            + " + similarity(lower(p.name), lower(:search))";
+
+    private static final String RETURNING = " WHERE id = ? RETURNING id, name, description, price";
+    private static final String UPDATE = "UPDATE product SET name = ?, description = ?, price = ?" + RETURNING;
+    // COALESCE mantém o valor atual quando o campo não veio no PATCH
+    private static final String PATCH = "UPDATE product SET name = COALESCE(?, name),"
+            + " description = COALESCE(?, description), price = COALESCE(?, price)" + RETURNING;
+    private static final String DELETE = "DELETE FROM product WHERE id = ?";
+    // Tipos explícitos: com valores nulos o driver não teria como inferi-los
+    private static final int[] WRITE_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.BIGINT};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Escritas via JDBC: uma ida ao banco, sem merge nem SELECT prévio do Hibernate
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+
+    @Override
+    public List<Product> findAll(Specification<Product> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                // Entidades só para leitura: sem snapshot nem dirty check no flush
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ProductResponseDTO> findAllProjected(ProductFilterDTO filter, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseDTO> query = criteriaBuilder.createQuery(ProductResponseDTO.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(criteriaBuilder.construct(ProductResponseDTO.class,
+                root.get("id"), root.get("name"), root.get("description"), root.get("price")));
+        where(query, root, criteriaBuilder, filter);
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return cacheable(entityManager.createQuery(query), filter)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countFiltered(ProductFilterDTO filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(criteriaBuilder.count(root));
+        where(query, root, criteriaBuilder, filter);
+        return cacheable(entityManager.createQuery(query), filter).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Product> root, CriteriaBuilder criteriaBuilder,
+            ProductFilterDTO filter) {
+        Predicate predicate = ProductSpecification.withFilter(filter).toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    /**
+     * Só a listagem sem filtro e a por faixa de preço vão para o cache de consultas: textos
+     * livres em {@code name}/{@code description} geram combinações demais para se repetirem.
+     */
+    private static <T> TypedQuery<T> cacheable(TypedQuery<T> query, ProductFilterDTO filter) {
+        if (!ProductFilterKey.of(filter).hasText()) {
+            query.setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .setHint(HibernateHints.HINT_CACHE_REGION, CacheRegions.PRODUCT_QUERIES);
+        }
+        return query;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProductResponseDTO> search(ProductFilterDTO filter, Sort sort, long offset, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String sql = "SELECT p.id, p.name, p.description, p.price FROM product p"
+                + searchWhere(filter, parameters)
+                + searchOrderBy(sort);
+
+        // Sem classe de resultado: as linhas vêm como tuplas, sem passar por entidades gerenciadas
+        Query query = entityManager.createNativeQuery(sql);
+        parameters.forEach(query::setParameter);
+        List<Object[]> rows = query
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ProductResponseDTO(
+                        ((Number) row[0]).longValue(), (String) row[1], (String) row[2], (BigDecimal) row[3]))
+                .toList();
+    }
+
+    @Override
+    public long countSearch(ProductFilterDTO filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        Query query = entityManager.createNativeQuery(
+                "SELECT count(*) FROM product p" + searchWhere(filter, parameters));
+        parameters.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private String searchWhere(ProductFilterDTO filter, Map<String, Object> parameters) {
+        // @@ usa o índice GIN do tsvector; % (pg_trgm) cobre erros de digitação no nome
+        StringBuilder where = new StringBuilder(" WHERE (p.search_vector @@ ")
+                .append(TS_QUERY)
+                .append(" OR lower(p.name) % lower(:search))");
+        parameters.put("search", filter.getSearch());
+
+        if (filter.getName() != null && !filter.getName().isEmpty()) {
+            where.append(" AND lower(p.name) LIKE :name");
+            parameters.put("name", "%" + filter.getName().toLowerCase() + "%");
+        }
+        if (filter.getDescription() != null && !filter.getDescription().isEmpty()) {
+            where.append(" AND lower(p.description) LIKE :description");
+            parameters.put("description", "%" + filter.getDescription().toLowerCase() + "%");
+        }
+        if (filter.getMinPrice() != null) {
+            where.append(" AND p.price >= :minPrice");
+            parameters.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            where.append(" AND p.price <= :maxPrice");
+            parameters.put("maxPrice", filter.getMaxPrice());
+        }
+        return where.toString();
+    }
+
+    private String searchOrderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            if (RELEVANCE.equalsIgnoreCase(order.getProperty())) {
+                orderBy.append(RANK).append(" DESC, ");
+                continue;
+            }
+            // Apenas colunas da lista permitida chegam ao SQL
+            orderBy.append("p.").append(ProductSortKey.fromProperty(order.getProperty()).getProperty())
+                    .append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        return orderBy.append("p.id").toString();
+    }
+
+    // As escritas abaixo não passam pelo Hibernate: o cache de consultas é avisado à parte
+    @Override
+    public Optional<Product> updateById(Long id, Product values) {
+        return write(UPDATE, id, values);
+    }
+
+    @Override
+    public Optional<Product> patchById(Long id, Product changes) {
+        return write(PATCH, id, changes);
+    }
+
+    @Override
+    public boolean removeById(Long id) {
+        cacheInvalidator.beforeProductWrite();
+        try {
+            return jdbcTemplate.update(DELETE, id) > 0;
+        } finally {
+            cacheInvalidator.afterProductWrite();
+        }
+    }
+
+    private Optional<Product> write(String sql, Long id, Product values) {
+        Object[] args = {values.getName(), values.getDescription(), values.getPrice(), id};
+        cacheInvalidator.beforeProductWrite();
+        try {
+            return jdbcTemplate.query(sql, args, WRITE_TYPES, ProductRepositoryCustomImpl::toProduct)
+                    .stream()
+                    .findFirst();
+        } finally {
+            cacheInvalidator.afterProductWrite();
+        }
+    }
+
+    private static Product toProduct(ResultSet rs, int rowNum) throws SQLException {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setName(rs.getString("name"));
+        product.setDescription(rs.getString("description"));
+        product.setPrice(rs.getBigDecimal("price"));
+        return product;
+    }
+}
@@ -0,0 +1,29 @@
+package com.selfservice.infrastructure.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selfservice.domain.entity.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /** Revogações ainda em vigor, carregadas na inicialização. */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /** Revogações feitas desde {@code since}, inclusive por outras instâncias. */
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+
+    /** Apaga as revogações de tokens já expirados; devolve quantas linhas saíram. */
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
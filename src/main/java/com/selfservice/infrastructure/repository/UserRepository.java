@@ -1,16 +1,41 @@
 package com.selfservice.infrastructure.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.selfservice.domain.entity.User;
+import com.selfservice.infrastructure.jpa.CacheRegions;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    /**
+     * Usado só para autenticar: a entidade volta somente leitura, sem snapshot para dirty check.
+     * O id encontrado fica no cache de consultas e a entidade no cache de segundo nível; escritas
+     * em {@code users} pelo Hibernate invalidam a consulta.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USER_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    /** Troca só o hash, sem carregar a entidade; o Hibernate invalida as regiões de {@code users}. */
+    @Modifying
+    @Query("update User u set u.password = :password, u.updatedAt = :updatedAt where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password,
+            @Param("updatedAt") LocalDateTime updatedAt);
 } 
\ No newline at end of file
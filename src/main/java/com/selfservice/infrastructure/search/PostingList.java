@@ -0,0 +1,43 @@
+package com.selfservice.infrastructure.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Lista de ocorrências de um termo em arrays primitivos paralelos, ordenada
+ * pelo número do documento (documentos novos sempre recebem números maiores).
+ */
+final class PostingList {
+
+    private int[] documents = new int[4];
+    private int[] frequencies = new int[4];
+    private int size;
+
+    void add(int document, int frequency) {
+        if (size == documents.length) {
+            documents = Arrays.copyOf(documents, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        documents[size] = document;
+        frequencies[size] = frequency;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int document(int index) {
+        return documents[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+
+    void addTo(BitSet target) {
+        for (int i = 0; i < size; i++) {
+            target.set(documents[i]);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.selfservice.infrastructure.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.cache.CatalogVersion;
+import com.selfservice.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.selfservice.infrastructure.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice de preços em memória para filtros por faixa ({@code minPrice}/{@code maxPrice}).
+ *
+ * <p>Os preços ficam em centavos num {@code long[]} ordenado por (preço, id), pareado com
+ * um {@code long[]} de ids. Uma faixa vira duas buscas binárias e a página é um
+ * trecho contíguo dos ids, sem boxing por elemento. Escritas chegam por
+ * {@link ProductChangedEvent} e deslocam os arrays com {@link System#arraycopy}; o preço
+ * atual de cada id fica num mapa, e a posição a remover sai de uma busca binária por
+ * (preço, id). As que chegam durante uma carga completa são reaplicadas sobre ela, como em
+ * {@link ProductSearchIndex}.
+ *
+ * <p>Desligado por padrão ({@code app.search.price-index.enabled}), como o índice de busca:
+ * só vê as escritas desta instância, e escritas fora da aplicação ou em outras instâncias
+ * só aparecem na próxima carga completa. Serve para implantações com uma única instância.
+ */
+@Slf4j
+@Component
+public class PriceIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuilding = new ReentrantLock();
+    private volatile boolean ready;
+    private List<ProductChangedEvent> pendingEvents;
+
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+    private Map<Long, Long> priceByProductId = new HashMap<>();
+
+    public PriceIndex(
+            ProductRepository productRepository,
+            @Value("${app.search.price-index.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isAvailable() {
+        return enabled && ready;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuilding.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<Object[]> rows;
+            try {
+                // Já vem ordenado por (preço, id) pelo índice idx_product_price_id
+                rows = ReplicaRoutingDataSource.onPrimary(productRepository::findAllPrices);
+            } catch (RuntimeException ex) {
+                discardPendingEvents();
+                throw ex;
+            }
+            long[] loadedPrices = new long[Math.max(INITIAL_CAPACITY, rows.size())];
+            long[] loadedIds = new long[loadedPrices.length];
+            Map<Long, Long> loadedPriceByProductId = new HashMap<>(rows.size() * 4 / 3 + 1);
+            for (int i = 0; i < rows.size(); i++) {
+                loadedIds[i] = (Long) rows.get(i)[0];
+                loadedPrices[i] = Prices.toCents((BigDecimal) rows.get(i)[1]);
+                loadedPriceByProductId.put(loadedIds[i], loadedPrices[i]);
+            }
+
+            lock.writeLock().lock();
+            try {
+                prices = loadedPrices;
+                ids = loadedIds;
+                size = rows.size();
+                priceByProductId = loadedPriceByProductId;
+                pendingEvents.forEach(this::apply);
+                pendingEvents = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice de preços carregado com {} produtos", rows.size());
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    @EventListener
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled || event.productId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids dos produtos com preço entre {@code minPrice} e {@code maxPrice} (inclusive,
+     * {@code null} = sem limite), na ordem de preço e id indicada.
+     */
+    public Range range(BigDecimal minPrice, BigDecimal maxPrice, Sort.Direction direction, long offset, int limit) {
+        long min = Prices.lowerBound(minPrice);
+        long max = Prices.upperBound(maxPrice);
+        lock.readLock().lock();
+        try {
+            int from = firstAtLeast(min);
+            int to = max == Long.MAX_VALUE ? size : firstAtLeast(max + 1);
+            int total = Math.max(0, to - from);
+            int skip = (int) Math.min(offset, total);
+            int count = Math.min(limit, total - skip);
+            long[] page = new long[count];
+            if (direction.isAscending()) {
+                System.arraycopy(ids, from + skip, page, 0, count);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    page[i] = ids[to - 1 - skip - i];
+                }
+            }
+            return new Range(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        remove(event.productId());
+        if (!event.isDeleted()) {
+            insert(Prices.toCents(event.product().getPrice()), event.productId());
+        }
+    }
+
+    private void discardPendingEvents() {
+        lock.writeLock().lock();
+        try {
+            pendingEvents = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Primeira posição com preço {@code >= cents}. */
+    private int firstAtLeast(long cents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Posição de inserção de (preço, id), mantendo a ordem dos arrays. */
+    private int insertionPoint(long cents, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < cents || (prices[mid] == cents && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insert(long cents, long id) {
+        if (size == prices.length) {
+            prices = Arrays.copyOf(prices, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int position = insertionPoint(cents, id);
+        System.arraycopy(prices, position, prices, position + 1, size - position);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        prices[position] = cents;
+        ids[position] = id;
+        size++;
+        priceByProductId.put(id, cents);
+    }
+
+    private void remove(long id) {
+        Long cents = priceByProductId.remove(id);
+        if (cents == null) {
+            return;
+        }
+        int position = insertionPoint(cents, id);
+        if (position < size && ids[position] == id) {
+            System.arraycopy(prices, position + 1, prices, position, size - position - 1);
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Trecho de uma faixa de preços.
+     *
+     * @param ids   ids da página, já na ordem pedida
+     * @param total quantidade de produtos na faixa inteira
+     */
+    public record Range(long[] ids, long total) {
+    }
+}
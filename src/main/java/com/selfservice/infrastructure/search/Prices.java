@@ -0,0 +1,46 @@
+package com.selfservice.infrastructure.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversão de preços para centavos ({@code long}), evitando comparações de
+ * {@link BigDecimal} nos índices em memória.
+ */
+final class Prices {
+
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private Prices() {
+    }
+
+    static long toCents(BigDecimal price) {
+        return toCents(price, RoundingMode.HALF_UP);
+    }
+
+    /** Limite inferior de um filtro: 20.005 vira 2001, preservando {@code preço >= mínimo}. */
+    static long lowerBound(BigDecimal minPrice) {
+        return minPrice == null ? Long.MIN_VALUE : toCents(minPrice, RoundingMode.CEILING);
+    }
+
+    /** Limite superior de um filtro: 20.005 vira 2000, preservando {@code preço <= máximo}. */
+    static long upperBound(BigDecimal maxPrice) {
+        return maxPrice == null ? Long.MAX_VALUE : toCents(maxPrice, RoundingMode.FLOOR);
+    }
+
+    /**
+     * Valores fora do alcance de um {@code long} (um filtro como {@code minPrice=1e20}) são
+     * saturados: a faixa fica vazia ou inteira, como no banco, em vez de estourar.
+     */
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        BigDecimal cents = price.movePointRight(2).setScale(0, roundingMode);
+        if (cents.compareTo(MAX_CENTS) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(MIN_CENTS) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return cents.longValueExact();
+    }
+}
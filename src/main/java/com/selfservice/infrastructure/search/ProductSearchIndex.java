@@ -0,0 +1,586 @@
+package com.selfservice.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.cache.CatalogVersion;
+import com.selfservice.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.repository.ProductRepository;
+import com.selfservice.infrastructure.repository.ProductRepositoryCustom;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice invertido do catálogo em memória, usado quando
+ * {@code app.search.engine=memory} para responder listagens filtradas sem ir ao banco.
+ *
+ * <p>Cada produto recebe um número de documento denso. Nome e descrição têm
+ * listas de ocorrências próprias em arrays primitivos; os filtros viram
+ * {@link BitSet}s que são intersectados, e a busca textual é pontuada com
+ * BM25 (nome com peso maior que descrição). Os termos de {@code search} casam por
+ * prefixo e sem acentos, como numa caixa de busca de quiosque; o banco usa full-text e
+ * similaridade, então os resultados e a ordem de {@code search} podem diferir dos dele.
+ * Os filtros {@code name} e {@code description} seguem o {@code lower(campo) LIKE
+ * '%valor%'} do banco: trecho em qualquer posição, sem diferenciar maiúsculas, com
+ * acentos, e {@code %} e {@code _} valendo como curingas.
+ *
+ * <p>A faixa de preço sai de duas buscas binárias num array de documentos ordenado por
+ * preço, e a página é escolhida por um heap limitado a {@code offset + size} documentos,
+ * sem ordenar todos os candidatos. Alterações chegam por
+ * {@link ProductChangedEvent}: o documento antigo é marcado como removido e um
+ * novo é acrescentado; o índice se compacta quando os removidos passam a ser maioria.
+ *
+ * <p>A carga completa lê do primário e pode levar segundos. Eventos recebidos enquanto ela
+ * roda são aplicados ao índice atual e guardados; depois da troca, são reaplicados sobre a
+ * carga nova, que pode ter sido lida antes deles.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuilding = new ReentrantLock();
+    private volatile boolean ready;
+    private List<ProductChangedEvent> pendingEvents;
+
+    private Field name;
+    private Field description;
+    private ProductResponseDTO[] documents;
+    private long[] prices;
+    // Documentos ordenados por (preço, documento); os removidos saem na compactação
+    private long[] sortedPrices;
+    private int[] sortedDocuments;
+    private int sortedCount;
+    private BitSet live;
+    private Map<Long, Integer> documentByProductId;
+    private int documentCount;
+    private int removedCount;
+
+    public ProductSearchIndex(
+            ProductRepository productRepository,
+            @Value("${app.search.engine:database}") String engine) {
+        this.productRepository = productRepository;
+        this.enabled = "memory".equalsIgnoreCase(engine);
+        clear();
+    }
+
+    public boolean isAvailable() {
+        return enabled && ready;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuilding.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<ProductResponseDTO> products;
+            try {
+                products = ReplicaRoutingDataSource.onPrimary(productRepository::findAllProjected);
+            } catch (RuntimeException ex) {
+                discardPendingEvents();
+                throw ex;
+            }
+            lock.writeLock().lock();
+            try {
+                clear();
+                addAll(products);
+                pendingEvents.forEach(this::apply);
+                pendingEvents = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice de busca em memória carregado com {} produtos", products.size());
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    @EventListener
+    @Order(CatalogVersion.BEFORE_VERSION)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Page<ProductResponseDTO> search(ProductFilterDTO filter, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) live.clone();
+            List<String> searchTerms = ProductTokenizer.tokenize(filter.getSearch());
+
+            if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+                candidates.and(priceRange(Prices.lowerBound(filter.getMinPrice()), Prices.upperBound(filter.getMaxPrice())));
+            }
+            for (String term : searchTerms) {
+                BitSet matches = name.matching(term);
+                matches.or(description.matching(term));
+                candidates.and(matches);
+            }
+            // Trechos por último: só os candidatos que sobraram são comparados texto a texto
+            if (hasText(filter.getName())) {
+                retainLike(candidates, filter.getName(), true);
+            }
+            if (hasText(filter.getDescription())) {
+                retainLike(candidates, filter.getDescription(), false);
+            }
+
+            double[] scores = searchTerms.isEmpty() ? null : score(searchTerms, candidates);
+            DocumentOrder order = order(pageable.getSort(), scores);
+            int total = candidates.cardinality();
+            int from = (int) Math.min(pageable.getOffset(), total);
+            int[] top = top(candidates, order, (int) Math.min((long) from + pageable.getPageSize(), total));
+
+            List<ProductResponseDTO> content = new ArrayList<>(top.length - from);
+            for (int i = from; i < top.length; i++) {
+                content.add(documents[top[i]]);
+            }
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        remove(event.productId());
+        if (!event.isDeleted()) {
+            add(toDocument(event.product()));
+        }
+        if (removedCount > INITIAL_CAPACITY && removedCount > live.cardinality()) {
+            compact();
+        }
+    }
+
+    private void discardPendingEvents() {
+        lock.writeLock().lock();
+        try {
+            pendingEvents = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Os {@code limit} primeiros candidatos na ordem pedida, já ordenados. Um heap com o pior
+     * no topo guarda os melhores vistos até agora: custo {@code n log limit}, sem boxing.
+     */
+    private static int[] top(BitSet candidates, DocumentOrder order, int limit) {
+        int[] heap = new int[limit];
+        int size = 0;
+        if (limit > 0) {
+            for (int document = candidates.nextSetBit(0); document >= 0; document = candidates.nextSetBit(document + 1)) {
+                if (size < limit) {
+                    heap[size] = document;
+                    siftUp(heap, size++, order);
+                } else if (order.compare(document, heap[0]) < 0) {
+                    heap[0] = document;
+                    siftDown(heap, size, order);
+                }
+            }
+        }
+        // Retira sempre o pior: o array termina em ordem crescente
+        for (int last = size - 1; last > 0; last--) {
+            int worst = heap[0];
+            heap[0] = heap[last];
+            heap[last] = worst;
+            siftDown(heap, last, order);
+        }
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int position, DocumentOrder order) {
+        int document = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (order.compare(heap[parent], document) >= 0) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = document;
+    }
+
+    private static void siftDown(int[] heap, int size, DocumentOrder order) {
+        int document = heap[0];
+        int position = 0;
+        int child;
+        while ((child = 2 * position + 1) < size) {
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(heap[child], document) <= 0) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = document;
+    }
+
+    /** Mantém os candidatos cujo nome (ou descrição) casa com {@code lower(campo) LIKE '%valor%'}. */
+    private void retainLike(BitSet candidates, String value, boolean onName) {
+        LikeMatcher matcher = LikeMatcher.of(value);
+        for (int document = candidates.nextSetBit(0); document >= 0; document = candidates.nextSetBit(document + 1)) {
+            ProductResponseDTO product = documents[document];
+            if (!matcher.matches(onName ? product.getName() : product.getDescription())) {
+                candidates.clear(document);
+            }
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private double[] score(List<String> terms, BitSet candidates) {
+        double[] scores = new double[documentCount];
+        int liveCount = live.cardinality();
+        for (String term : terms) {
+            name.score(term, candidates, liveCount, NAME_WEIGHT, scores);
+            description.score(term, candidates, liveCount, DESCRIPTION_WEIGHT, scores);
+        }
+        return scores;
+    }
+
+    private BitSet priceRange(long min, long max) {
+        int from = firstAtLeast(min);
+        int to = max == Long.MAX_VALUE ? sortedCount : firstAtLeast(max + 1);
+        BitSet matches = new BitSet(documentCount);
+        for (int i = from; i < to; i++) {
+            matches.set(sortedDocuments[i]);
+        }
+        return matches;
+    }
+
+    /** Primeira posição de {@code sortedPrices} com preço {@code >= cents}. */
+    private int firstAtLeast(long cents) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private DocumentOrder order(Sort sort, double[] scores) {
+        DocumentOrder order = null;
+        if (sort.isUnsorted() && scores != null) {
+            sort = Sort.by(ProductRepositoryCustom.RELEVANCE);
+        }
+        for (Sort.Order property : sort) {
+            DocumentOrder next = order(property, scores);
+            order = order == null ? next : order.then(next);
+        }
+        DocumentOrder byId = (left, right) -> Long.compare(documents[left].getId(), documents[right].getId());
+        return order == null ? byId : order.then(byId);
+    }
+
+    private DocumentOrder order(Sort.Order property, double[] scores) {
+        Comparator<String> text = Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
+        DocumentOrder order = switch (property.getProperty().toLowerCase()) {
+            case "id" -> (left, right) -> Long.compare(documents[left].getId(), documents[right].getId());
+            case "name" -> (left, right) -> text.compare(documents[left].getName(), documents[right].getName());
+            case "description" -> (left, right) ->
+                    text.compare(documents[left].getDescription(), documents[right].getDescription());
+            case "price" -> (left, right) -> Long.compare(prices[left], prices[right]);
+            case ProductRepositoryCustom.RELEVANCE -> {
+                if (scores == null) {
+                    throw new BusinessException("A ordenação por relevância exige o parâmetro search");
+                }
+                // Relevância é sempre decrescente
+                yield (left, right) -> Double.compare(scores[right], scores[left]);
+            }
+            default -> throw new BusinessException("Ordenação não suportada: " + property.getProperty());
+        };
+        return property.isAscending() || ProductRepositoryCustom.RELEVANCE.equalsIgnoreCase(property.getProperty())
+                ? order
+                : order.reversed();
+    }
+
+    /** Acrescenta um documento, inserindo-o na posição do seu preço. */
+    private void add(ProductResponseDTO product) {
+        int document = append(product);
+        int position = insertionPoint(prices[document], document);
+        System.arraycopy(sortedPrices, position, sortedPrices, position + 1, sortedCount - position);
+        System.arraycopy(sortedDocuments, position, sortedDocuments, position + 1, sortedCount - position);
+        sortedPrices[position] = prices[document];
+        sortedDocuments[position] = document;
+        sortedCount++;
+    }
+
+    /** Carga em bloco: acrescenta todos e ordena por preço uma vez só. */
+    private void addAll(List<ProductResponseDTO> products) {
+        products.forEach(this::append);
+        Integer[] byPrice = new Integer[documentCount];
+        for (int document = 0; document < documentCount; document++) {
+            byPrice[document] = document;
+        }
+        Arrays.sort(byPrice, Comparator.<Integer>comparingLong(document -> prices[document])
+                .thenComparingInt(document -> document));
+        for (int i = 0; i < byPrice.length; i++) {
+            sortedPrices[i] = prices[byPrice[i]];
+            sortedDocuments[i] = byPrice[i];
+        }
+        sortedCount = documentCount;
+    }
+
+    private int append(ProductResponseDTO product) {
+        int document = documentCount++;
+        if (document == documents.length) {
+            int capacity = documents.length * 2;
+            documents = Arrays.copyOf(documents, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            sortedPrices = Arrays.copyOf(sortedPrices, capacity);
+            sortedDocuments = Arrays.copyOf(sortedDocuments, capacity);
+            name.grow(capacity);
+            description.grow(capacity);
+        }
+        documents[document] = product;
+        prices[document] = Prices.toCents(product.getPrice());
+        live.set(document);
+        documentByProductId.put(product.getId(), document);
+        name.index(document, product.getName());
+        description.index(document, product.getDescription());
+        return document;
+    }
+
+    /** Posição de inserção de (preço, documento) em {@code sortedPrices}. */
+    private int insertionPoint(long cents, int document) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < cents || (sortedPrices[mid] == cents && sortedDocuments[mid] < document)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void remove(Long productId) {
+        Integer document = productId == null ? null : documentByProductId.remove(productId);
+        if (document == null) {
+            return;
+        }
+        live.clear(document);
+        name.unindex(document);
+        description.unindex(document);
+        documents[document] = null;
+        removedCount++;
+    }
+
+    private void compact() {
+        List<ProductResponseDTO> products = new ArrayList<>(live.cardinality());
+        live.stream().forEach(document -> products.add(documents[document]));
+        clear();
+        addAll(products);
+    }
+
+    private void clear() {
+        name = new Field(INITIAL_CAPACITY);
+        description = new Field(INITIAL_CAPACITY);
+        documents = new ProductResponseDTO[INITIAL_CAPACITY];
+        prices = new long[INITIAL_CAPACITY];
+        sortedPrices = new long[INITIAL_CAPACITY];
+        sortedDocuments = new int[INITIAL_CAPACITY];
+        sortedCount = 0;
+        live = new BitSet(INITIAL_CAPACITY);
+        documentByProductId = new HashMap<>();
+        documentCount = 0;
+        removedCount = 0;
+    }
+
+    private static ProductResponseDTO toDocument(Product product) {
+        return new ProductResponseDTO(product.getId(), product.getName(), product.getDescription(), product.getPrice());
+    }
+
+    /** Ordem entre documentos, comparando {@code int}s sem boxing. */
+    @FunctionalInterface
+    private interface DocumentOrder {
+
+        int compare(int left, int right);
+
+        default DocumentOrder then(DocumentOrder next) {
+            return (left, right) -> {
+                int result = compare(left, right);
+                return result != 0 ? result : next.compare(left, right);
+            };
+        }
+
+        default DocumentOrder reversed() {
+            return (left, right) -> compare(right, left);
+        }
+    }
+
+    /**
+     * {@code lower(texto) LIKE '%valor%'}: sem curingas, um {@code contains} sem diferenciar
+     * maiúsculas; com {@code %}, {@code _} ou o escape {@code \}, a expressão equivalente.
+     */
+    private record LikeMatcher(String literal, Pattern pattern) {
+
+        static LikeMatcher of(String value) {
+            if (value.indexOf('%') < 0 && value.indexOf('_') < 0 && value.indexOf('\\') < 0) {
+                return new LikeMatcher(value, null);
+            }
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' && i + 1 < value.length()) {
+                    literal.append(value.charAt(++i));
+                    continue;
+                }
+                if (c == '%' || c == '_') {
+                    regex.append(Pattern.quote(literal.toString())).append(c == '%' ? ".*" : ".");
+                    literal.setLength(0);
+                } else {
+                    literal.append(c);
+                }
+            }
+            regex.append(Pattern.quote(literal.toString()));
+            return new LikeMatcher(null, Pattern.compile(regex.toString(),
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL));
+        }
+
+        boolean matches(String text) {
+            if (text == null) {
+                return false;
+            }
+            if (pattern != null) {
+                return pattern.matcher(text).find();
+            }
+            for (int i = 0; i + literal.length() <= text.length(); i++) {
+                if (text.regionMatches(true, i, literal, 0, literal.length())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** Termos e comprimentos de um campo indexado. */
+    private static final class Field {
+
+        private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+        private int[] lengths;
+        private long totalLength;
+        private int documents;
+
+        Field(int capacity) {
+            this.lengths = new int[capacity];
+        }
+
+        void grow(int capacity) {
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+
+        void index(int document, String text) {
+            List<String> tokens = ProductTokenizer.tokenize(text);
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            frequencies.forEach((token, frequency) ->
+                    postings.computeIfAbsent(token, key -> new PostingList()).add(document, frequency));
+            lengths[document] = tokens.size();
+            totalLength += tokens.size();
+            documents++;
+        }
+
+        void unindex(int document) {
+            // As ocorrências ficam até a próxima compactação; o BitSet de vivos as filtra
+            totalLength -= lengths[document];
+            documents--;
+        }
+
+        /** Termos que começam com o prefixo informado. */
+        NavigableMap<String, PostingList> expand(String prefix) {
+            return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        }
+
+        BitSet matching(String prefix) {
+            BitSet matches = new BitSet();
+            expand(prefix).values().forEach(postingList -> postingList.addTo(matches));
+            return matches;
+        }
+
+        void score(String term, BitSet candidates, int liveCount, double weight, double[] scores) {
+            double averageLength = documents == 0 ? 1 : Math.max(1, (double) totalLength / documents);
+            for (Map.Entry<String, PostingList> entry : expand(term).entrySet()) {
+                PostingList postingList = entry.getValue();
+                double termWeight = weight * (entry.getKey().equals(term) ? 1 : PREFIX_MATCH_WEIGHT);
+                int documentFrequency = Math.min(postingList.size(), liveCount);
+                double idf = Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (int i = 0; i < postingList.size(); i++) {
+                    int document = postingList.document(i);
+                    if (!candidates.get(document)) {
+                        continue;
+                    }
+                    int frequency = postingList.frequency(i);
+                    double normalization = K1 * (1 - B + B * lengths[document] / averageLength);
+                    scores[document] += termWeight * idf * frequency * (K1 + 1) / (frequency + normalization);
+                }
+            }
+        }
+    }
+}
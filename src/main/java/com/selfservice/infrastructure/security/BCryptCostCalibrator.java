@@ -0,0 +1,45 @@
+package com.selfservice.infrastructure.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Escolhe o custo do BCrypt pelo tempo medido nesta máquina: o maior custo cujo hash cabe
+ * em {@code target}. Cada ponto de custo dobra o tempo, então basta medir o custo mínimo e
+ * extrapolar. Instâncias em hardware diferente podem chegar a custos diferentes; para fixar
+ * um valor, use o registrado no log na inicialização.
+ */
+public final class BCryptCostCalibrator {
+
+    /** Mínimo recomendado pela OWASP e padrão do {@code BCryptPasswordEncoder}. */
+    public static final int MIN_COST = 10;
+    public static final int MAX_COST = 16;
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration target) {
+        String salt = BCrypt.gensalt(MIN_COST);
+        // A primeira execução inclui o aquecimento do JIT; fica a menor das amostras
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibracao-do-custo", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return costFor(best, target.toNanos());
+    }
+
+    static int costFor(long minCostNanos, long targetNanos) {
+        int cost = MIN_COST;
+        long nanos = minCostNanos;
+        while (cost < MAX_COST && nanos * 2 <= targetNanos) {
+            nanos *= 2;
+            cost++;
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,111 @@
+package com.selfservice.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.selfservice.infrastructure.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Isola o custo de CPU do BCrypt num pool próprio, com poucas threads e fila limitada.
+ * Numa rajada de tentativas de login, no máximo {@code threads} hashes rodam ao mesmo
+ * tempo e {@code queueCapacity} esperam; as demais são recusadas com
+ * {@link ServiceOverloadedException} (503 com {@code Retry-After}) sem consumir CPU, e as
+ * threads do Tomcat continuam livres para o catálogo.
+ *
+ * <p>O pool é publicado no Micrometer como {@code executor.*{name=password-hashing}}, e as
+ * recusas em {@code password.hashing.rejected}.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder, MeterBinder, AutoCloseable {
+
+    static final String NAME = "password-hashing";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private volatile Counter rejected;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration retryAfter) {
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /** Só lê o custo gravado no hash, sem calcular nada: roda na própria thread. */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ExecutorServiceMetrics.monitor(registry, executor, NAME);
+        rejected = Counter.builder("password.hashing.rejected")
+                .description("Hashes de senha recusados por falta de capacidade no pool")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException ex) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new ServiceOverloadedException(
+                    "Muitas autenticações em andamento. Tente novamente em instantes.", retryAfter);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha ao calcular o hash da senha", ex.getCause());
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, NAME + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,23 +1,55 @@
 package com.selfservice.infrastructure.security;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selfservice.domain.entity.User;
+import com.selfservice.infrastructure.cache.UserCache;
 import com.selfservice.infrastructure.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
+    /**
+     * Sem transação própria: acertos no {@link UserCache}, inclusive de emails inexistentes,
+     * não abrem nada, e o {@code findByEmail} do repositório já roda numa transação readOnly.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
+        return userCache.get(username, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + username));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Chamado pelo {@code DaoAuthenticationProvider} depois de um login válido cujo hash tem
+     * custo menor que o configurado: grava o hash novo, calculado com a senha recebida. O
+     * usuário recebido pode ser a instância compartilhada do {@link UserCache}; quem volta é
+     * uma cópia com o hash novo, sem alterar a original.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User account = (User) user;
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.updatePassword(account.getId(), newPassword, now);
+        userCache.evict(account.getEmail());
+        return account.toBuilder()
+                .password(newPassword)
+                .roles(Set.copyOf(account.getRoles()))
+                .updatedAt(now)
+                .build();
+    }
+}
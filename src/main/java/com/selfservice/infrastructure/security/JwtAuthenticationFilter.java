@@ -1,30 +1,68 @@
 package com.selfservice.infrastructure.security;
 
 import java.io.IOException;
+import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selfservice.infrastructure.config.SecurityConfig;
+import com.selfservice.infrastructure.security.VerifiedTokenCache.VerifiedToken;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Autentica a requisição pelo token {@code Bearer}, verificado uma vez por
+ * {@link VerifiedTokenCache}. No modo {@code claims} (padrão), o {@code Authentication}
+ * guardado junto das claims é usado como está: o principal é o email e as authorities vêm
+ * de {@link RoleAuthorities}, sem consulta ao banco nem detalhes da requisição. No modo
+ * {@code database}, o usuário é recarregado a cada requisição, e desativações ou
+ * mudanças de papel valem na hora em vez de na expiração do token. Em ambos, tokens
+ * revogados em {@link TokenRevocationList} são ignorados.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
+    private static final RequestMatcher PUBLIC_PATHS = new OrRequestMatcher(Arrays.stream(SecurityConfig.PUBLIC_PATHS)
+            .<RequestMatcher>map(AntPathRequestMatcher::new)
+            .toList());
+
+    private final VerifiedTokenCache verifiedTokens;
+    private final TokenRevocationList revocationList;
     private final UserDetailsService userDetailsService;
+    private final boolean loadUser;
+
+    public JwtAuthenticationFilter(
+            VerifiedTokenCache verifiedTokens,
+            TokenRevocationList revocationList,
+            UserDetailsService userDetailsService,
+            @Value("${app.jwt.authentication-source:claims}") String authenticationSource) {
+        this.verifiedTokens = verifiedTokens;
+        this.revocationList = revocationList;
+        this.userDetailsService = userDetailsService;
+        this.loadUser = "database".equalsIgnoreCase(authenticationSource);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PUBLIC_PATHS.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -32,15 +70,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (StringUtils.hasText(jwt)) {
+                // A revogação é conferida a cada requisição, inclusive para tokens vindos do cache
+                verifiedTokens.verify(jwt)
+                        .filter(token -> !revocationList.isRevoked(token.claims().getId()))
+                        .ifPresent(token ->
+                                SecurityContextHolder.getContext().setAuthentication(authenticate(token, request)));
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -49,6 +84,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Authentication authenticate(VerifiedToken token, HttpServletRequest request) {
+        if (!loadUser) {
+            return token.authentication();
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.claims().getSubject());
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        return authentication;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -56,4 +102,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-} 
\ No newline at end of file
+}
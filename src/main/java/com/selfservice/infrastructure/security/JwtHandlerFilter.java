@@ -0,0 +1,88 @@
+package com.selfservice.infrastructure.security;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.selfservice.infrastructure.security.VerifiedTokenCache.VerifiedToken;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Exige no servidor reativo o mesmo token {@code Bearer} que {@link JwtAuthenticationFilter}
+ * exige no Tomcat: verificado por {@link VerifiedTokenCache}, não revogado em
+ * {@link TokenRevocationList} e, no modo {@code database}, de um usuário que ainda existe.
+ * Sem token válido a resposta é 403 sem corpo, como a do Spring Security no Tomcat.
+ *
+ * <p>A verificação de um token em cache e a consulta à lista de revogação não bloqueiam; o
+ * carregamento do usuário no modo {@code database} usa JPA e roda em
+ * {@link Schedulers#boundedElastic()}, fora do event loop.
+ */
+@Slf4j
+public class JwtHandlerFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final VerifiedTokenCache verifiedTokens;
+    private final TokenRevocationList revocationList;
+    private final UserDetailsService userDetailsService;
+    private final boolean loadUser;
+
+    public JwtHandlerFilter(
+            VerifiedTokenCache verifiedTokens,
+            TokenRevocationList revocationList,
+            UserDetailsService userDetailsService,
+            String authenticationSource) {
+        this.verifiedTokens = verifiedTokens;
+        this.revocationList = revocationList;
+        this.userDetailsService = userDetailsService;
+        this.loadUser = "database".equalsIgnoreCase(authenticationSource);
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        Optional<VerifiedToken> token;
+        try {
+            token = getJwtFromRequest(request)
+                    .flatMap(verifiedTokens::verify)
+                    .filter(verified -> !revocationList.isRevoked(verified.claims().getId()));
+        } catch (Exception ex) {
+            log.error("Could not authenticate reactive request", ex);
+            token = Optional.empty();
+        }
+        if (token.isEmpty()) {
+            return forbidden();
+        }
+        if (!loadUser) {
+            return next.handle(request);
+        }
+        String email = token.get().claims().getSubject();
+        return Mono.fromCallable(() -> userDetailsService.loadUserByUsername(email))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(user -> true)
+                .onErrorResume(ex -> {
+                    log.error("Could not load user for reactive request", ex);
+                    return Mono.just(false);
+                })
+                .flatMap(found -> found ? next.handle(request) : forbidden());
+    }
+
+    private static Mono<ServerResponse> forbidden() {
+        return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    private static Optional<String> getJwtFromRequest(ServerRequest request) {
+        String bearerToken = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return Optional.of(bearerToken.substring(7));
+        }
+        return Optional.empty();
+    }
+}
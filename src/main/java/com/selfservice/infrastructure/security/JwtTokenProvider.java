@@ -1,8 +1,8 @@
 package com.selfservice.infrastructure.security;
 
-import java.security.Key;
 import java.util.Date;
-import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
@@ -13,9 +13,9 @@ import com.selfservice.domain.entity.User;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -26,10 +26,14 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class JwtTokenProvider {
 
+    public static final String NAME_CLAIM = "name";
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${app.jwt.expiration}")
     private int jwtExpirationInMs;
 
     private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
@@ -40,6 +44,10 @@ public class JwtTokenProvider {
             keyBytes[i] = (byte) i;
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        // O parser é imutável e thread-safe: um só para todas as requisições
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(User user) {
@@ -47,9 +55,11 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
         return Jwts.builder()
+                // jti: identifica o token para revogação (TokenRevocationList)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getEmail())
-                .claim("name", user.getName())
-                .claim("roles", user.getRoles())
+                .claim(NAME_CLAIM, user.getName())
+                .claim(ROLES_CLAIM, user.getRoles())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key)
@@ -57,22 +67,20 @@ public class JwtTokenProvider {
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    /**
+     * Verifica assinatura e expiração e devolve as claims num único parse; vazio se o
+     * token for inválido, com o motivo registrado no log.
+     */
+    public Optional<Claims> parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            return Optional.of(parser.parseClaimsJws(authToken).getBody());
         } catch (SignatureException ex) {
             log.error("Assinatura JWT inválida");
         } catch (MalformedJwtException ex) {
@@ -84,6 +92,6 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string está vazia");
         }
-        return false;
+        return Optional.empty();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.selfservice.infrastructure.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.selfservice.domain.entity.Role;
+
+/**
+ * Listas de authorities de todas as combinações de {@link Role}, montadas uma única vez
+ * e indexadas pela máscara de bits dos papéis. Autenticar uma requisição não cria
+ * {@link SimpleGrantedAuthority} nem listas novas: usuários com os mesmos papéis
+ * compartilham a mesma instância imutável.
+ */
+public final class RoleAuthorities {
+
+    private static final Role[] ROLES = Role.values();
+    private static final List<List<GrantedAuthority>> BY_MASK = precompute();
+
+    private RoleAuthorities() {
+    }
+
+    /** Authorities ({@code ROLE_<nome>}) dos papéis informados. */
+    public static List<GrantedAuthority> of(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= 1 << role.ordinal();
+        }
+        return BY_MASK.get(mask);
+    }
+
+    /**
+     * Authorities a partir da claim {@code roles} do token, que chega como lista de nomes.
+     * Um nome desconhecido lança {@link IllegalArgumentException}.
+     */
+    public static List<GrantedAuthority> fromClaim(Collection<?> roleNames) {
+        if (roleNames == null) {
+            return BY_MASK.get(0);
+        }
+        int mask = 0;
+        for (Object name : roleNames) {
+            mask |= 1 << Role.valueOf(name.toString()).ordinal();
+        }
+        return BY_MASK.get(mask);
+    }
+
+    private static List<List<GrantedAuthority>> precompute() {
+        GrantedAuthority[] single = new GrantedAuthority[ROLES.length];
+        for (Role role : ROLES) {
+            single[role.ordinal()] = new SimpleGrantedAuthority("ROLE_" + role.name());
+        }
+        List<List<GrantedAuthority>> byMask = new ArrayList<>(1 << ROLES.length);
+        for (int mask = 0; mask < 1 << ROLES.length; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>(Integer.bitCount(mask));
+            for (int i = 0; i < ROLES.length; i++) {
+                if ((mask & 1 << i) != 0) {
+                    authorities.add(single[i]);
+                }
+            }
+            byMask.add(List.copyOf(authorities));
+        }
+        return List.copyOf(byMask);
+    }
+}
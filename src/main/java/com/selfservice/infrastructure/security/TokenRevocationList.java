@@ -0,0 +1,177 @@
+package com.selfservice.infrastructure.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selfservice.domain.entity.RevokedToken;
+import com.selfservice.infrastructure.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lista de tokens revogados pelo claim {@code jti}, persistida em {@code revoked_token} e
+ * espelhada em memória. A consulta por requisição passa primeiro por um
+ * {@link BloomFilter}: quase todo token não revogado sai dali em nanossegundos, e só um
+ * "talvez" consulta o conjunto exato. O banco nunca é consultado por requisição.
+ *
+ * <p>A cada {@code refresh-interval}, revogações feitas por outras instâncias são lidas
+ * do banco, e as de tokens já expirados são apagadas do banco e da memória, com o filtro
+ * remontado. Tokens sem {@code jti} (emitidos antes dele) não podem ser revogados.
+ * Publica {@code token.revocation.checks{result=clear|false-positive|revoked}} e o
+ * tamanho da lista em {@code token.revocation.size}.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements MeterBinder {
+
+    private final RevokedTokenRepository repository;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final Duration refreshInterval;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter bloom;
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    private final LongAdder clear = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenRevocationList(
+            RevokedTokenRepository repository,
+            @Value("${app.security.revocation.expected-tokens:10000}") int expectedTokens,
+            @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.security.revocation.refresh-interval:PT30S}") Duration refreshInterval) {
+        this.repository = repository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshInterval = refreshInterval;
+        this.bloom = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloom.mightContain(jti)) {
+            clear.increment();
+            return false;
+        }
+        if (revoked.containsKey(jti)) {
+            rejected.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /** Revoga o token até {@code expiresAt}, o seu {@code exp}; revogar de novo não tem efeito. */
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        RevokedToken token = RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(expiresAt)
+                .revokedAt(LocalDateTime.now())
+                .build();
+        repository.save(token);
+        add(List.of(token));
+        log.info("Token {} revogado até {}", jti, expiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> active = repository.findByExpiresAtAfter(now);
+        add(active);
+        lastSync = now;
+        log.info("Lista de revogação carregada com {} tokens", active.size());
+    }
+
+    /**
+     * Lê as revogações recentes, com uma janela de folga de um intervalo para commits
+     * atrasados e réplicas defasadas, e descarta as vencidas.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval:PT30S}",
+            initialDelayString = "${app.security.revocation.refresh-interval:PT30S}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        add(repository.findByRevokedAtAfter(lastSync.minus(refreshInterval)));
+        lastSync = now;
+        purge(now);
+    }
+
+    void purge(LocalDateTime now) {
+        int deleted = repository.deleteExpired(now);
+        writeLock.lock();
+        try {
+            if (revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now))) {
+                rebuild();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (deleted > 0) {
+            log.info("{} revogações de tokens expirados removidas", deleted);
+        }
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void add(List<RevokedToken> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        // Sob lock para uma inserção não cair num filtro que está sendo substituído
+        writeLock.lock();
+        try {
+            for (RevokedToken token : tokens) {
+                // Conjunto exato antes do filtro: um "talvez" sempre encontra a entrada
+                revoked.put(token.getJti(), token.getExpiresAt());
+            }
+            if (revoked.size() > bloom.capacity()) {
+                rebuild();
+            } else {
+                tokens.forEach(token -> bloom.put(token.getJti()));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Filtro novo com o conjunto atual; dobra a capacidade quando a lista passa da prevista. */
+    private void rebuild() {
+        int capacity = Math.max(1, expectedTokens);
+        while (capacity < revoked.size()) {
+            capacity *= 2;
+        }
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloom = rebuilt;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("token.revocation.checks", clear, LongAdder::sum)
+                .tag("result", "clear").register(registry);
+        FunctionCounter.builder("token.revocation.checks", falsePositives, LongAdder::sum)
+                .tag("result", "false-positive").register(registry);
+        FunctionCounter.builder("token.revocation.checks", rejected, LongAdder::sum)
+                .tag("result", "revoked").register(registry);
+        Gauge.builder("token.revocation.size", revoked, Map::size)
+                .description("Tokens revogados ainda não expirados").register(registry);
+    }
+}
@@ -0,0 +1,174 @@
+package com.selfservice.infrastructure.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Tokens JWT já verificados, indexados pelo SHA-256 do token. Um quiosque reaproveita o
+ * mesmo token por horas; com o cache, só a primeira requisição paga Base64, parse do JSON
+ * e a verificação HS512, e as demais custam um hash e uma consulta ao mapa.
+ *
+ * <p>Cada entrada vence no {@code exp} do próprio token, nunca depois, e o tamanho é
+ * limitado por {@code maximum-size}. Tokens inválidos não entram no cache. O
+ * {@link Authentication} guardado é compartilhado entre requisições e não deve ser
+ * alterado. Além de {@code cache.*{cache=jwt-tokens}}, publica o tempo gasto
+ * verificando tokens ({@code jwt.verification.time}) e o tempo poupado pelos acertos
+ * ({@code jwt.verification.saved}), estimado pelo custo da verificação de cada entrada.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    public static final String NAME = "jwt-tokens";
+
+    private static final MessageDigest SHA_256 = sha256();
+
+    private final JwtTokenProvider tokenProvider;
+    private final Cache<TokenDigest, VerifiedToken> cache;
+    private final LongAdder verificationNanos = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(
+            JwtTokenProvider tokenProvider,
+            @Value("${app.jwt.cache.maximum-size:10000}") long maximumSize) {
+        this(tokenProvider, maximumSize, Ticker.systemTicker());
+    }
+
+    VerifiedTokenCache(JwtTokenProvider tokenProvider, long maximumSize, Ticker ticker) {
+        this.tokenProvider = tokenProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /** Claims e autenticação do token, verificando-o apenas se não estiver no cache. */
+    public Optional<VerifiedToken> verify(String token) {
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            savedNanos.add(cached.verificationNanos());
+            return Optional.of(cached);
+        }
+        long start = System.nanoTime();
+        Optional<VerifiedToken> verified = tokenProvider.parseClaims(token).map(this::toVerifiedToken);
+        long elapsed = System.nanoTime() - start;
+        verificationNanos.add(elapsed);
+        verified.filter(entry -> entry.claims().getExpiration() != null)
+                .ifPresent(entry -> cache.put(digest, entry.withVerificationNanos(elapsed)));
+        return verified;
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        FunctionCounter.builder("jwt.verification.time", verificationNanos, VerifiedTokenCache::seconds)
+                .description("Tempo gasto verificando assinatura e claims de tokens JWT")
+                .baseUnit("seconds").register(registry);
+        FunctionCounter.builder("jwt.verification.saved", savedNanos, VerifiedTokenCache::seconds)
+                .description("Tempo de verificação poupado por acertos no cache de tokens")
+                .baseUnit("seconds").register(registry);
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        List<?> roles = claims.get(JwtTokenProvider.ROLES_CLAIM, List.class);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                claims.getSubject(), null, RoleAuthorities.fromClaim(roles));
+        return new VerifiedToken(claims, authentication, 0);
+    }
+
+    private static double seconds(LongAdder nanos) {
+        return nanos.sum() / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    /**
+     * Token verificado: claims, autenticação montada a partir delas (principal é o email)
+     * e quanto a verificação custou.
+     */
+    public record VerifiedToken(Claims claims, Authentication authentication, long verificationNanos) {
+
+        VerifiedToken withVerificationNanos(long nanos) {
+            return new VerifiedToken(claims, authentication, nanos);
+        }
+    }
+
+    /** SHA-256 do token em quatro longs: chave compacta, sem guardar o token no heap. */
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest;
+            try {
+                // Clonar o protótipo evita a busca do provedor a cada requisição
+                digest = (MessageDigest) SHA_256.clone();
+            } catch (CloneNotSupportedException ex) {
+                digest = sha256();
+            }
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    /** Vence cada entrada no {@code exp} do token, medido a partir da inserção. */
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            Date expiration = value.claims().getExpiration();
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,13 +4,25 @@ import org.springframework.data.jpa.domain.Specification;
 
 import com.selfservice.application.dto.product.ProductFilterDTO;
 import com.selfservice.domain.entity.Product;
+import com.selfservice.infrastructure.pagination.ProductCursor;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
 public class ProductSpecification {
     
+    /**
+     * A busca textual depende de operadores do Postgres (tsvector, pg_trgm) e é atendida por
+     * {@code ProductRepositoryCustom#search}, não por esta especificação.
+     */
+    public static boolean hasSearch(ProductFilterDTO filter) {
+        return filter.getSearch() != null && !filter.getSearch().isBlank();
+    }
+    
     public static Specification<Product> withFilter(ProductFilterDTO filter) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -46,4 +58,45 @@ public class ProductSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-} 
\ No newline at end of file
+
+    /**
+     * Restringe aos itens posteriores ao cursor na ordem {@code (chave, id)}.
+     * O limite redundante {@code chave >= valor} permite ao Postgres iniciar a
+     * varredura do índice composto direto na posição do cursor.
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.direction().isAscending();
+            Path<Long> id = root.get("id");
+            return switch (cursor.sortKey()) {
+                case ID -> ascending
+                        ? criteriaBuilder.greaterThan(id, cursor.id())
+                        : criteriaBuilder.lessThan(id, cursor.id());
+                case NAME -> keyset(criteriaBuilder, root.<String>get("name"), cursor.value(),
+                        id, cursor.id(), ascending);
+                case PRICE -> keyset(criteriaBuilder, root.<BigDecimal>get("price"), new BigDecimal(cursor.value()),
+                        id, cursor.id(), ascending);
+            };
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate keyset(
+            CriteriaBuilder criteriaBuilder, Path<Y> key, Y value, Path<Long> id, Long lastId, boolean ascending) {
+        if (ascending) {
+            return criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(key, value),
+                criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(key, value),
+                    criteriaBuilder.greaterThan(id, lastId)
+                )
+            );
+        }
+        return criteriaBuilder.and(
+            criteriaBuilder.lessThanOrEqualTo(key, value),
+            criteriaBuilder.or(
+                criteriaBuilder.lessThan(key, value),
+                criteriaBuilder.lessThan(id, lastId)
+            )
+        );
+    }
+}
@@ -0,0 +1,12 @@
+-- A tabela era criada apenas pelo ddl-auto do Hibernate; IF NOT EXISTS mantém
+-- compatibilidade com bancos onde ela já existe.
+CREATE TABLE IF NOT EXISTS product (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    price NUMERIC(38, 2)
+);
+
+-- Índices que sustentam a paginação por cursor (ordenação + desempate por id)
+CREATE INDEX IF NOT EXISTS idx_product_name_id ON product (name, id);
+CREATE INDEX IF NOT EXISTS idx_product_price_id ON product (price, id);
@@ -0,0 +1,15 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Vetor de busca textual mantido pelo próprio Postgres: nome pesa mais que descrição
+ALTER TABLE product ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_product_search_vector ON product USING GIN (search_vector);
+
+-- Índices de trigramas: servem à similaridade da busca e também aos filtros
+-- lower(coluna) LIKE '%x%' de ProductSpecification, que antes exigiam seq scan
+CREATE INDEX IF NOT EXISTS idx_product_name_trgm ON product USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_product_description_trgm ON product USING GIN (lower(description) gin_trgm_ops);
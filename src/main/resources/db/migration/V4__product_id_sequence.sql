@@ -0,0 +1,10 @@
+-- Ids passam a vir de uma sequência com incremento 50 (otimizador pooled do Hibernate):
+-- com IDENTITY o Hibernate não consegue agrupar INSERTs em lotes JDBC.
+CREATE SEQUENCE IF NOT EXISTS product_seq INCREMENT BY 50;
+
+-- Começa acima do maior id existente; o Hibernate usa o bloco que termina no valor retornado
+SELECT setval('product_seq', (SELECT COALESCE(MAX(id), 0) FROM product) + 50);
+
+ALTER TABLE product ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE product ALTER COLUMN id SET DEFAULT nextval('product_seq');
+ALTER SEQUENCE product_seq OWNED BY product.id;
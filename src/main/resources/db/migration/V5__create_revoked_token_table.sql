@@ -0,0 +1,12 @@
+-- Tokens JWT revogados antes da expiração, pelo claim jti. Cada linha só é útil até
+-- expires_at (o exp do token) e é apagada depois disso.
+CREATE TABLE revoked_token (
+    jti VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+-- Limpeza das linhas vencidas
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
+-- Sincronização entre instâncias: revogações feitas desde a última leitura
+CREATE INDEX idx_revoked_token_revoked_at ON revoked_token (revoked_at);
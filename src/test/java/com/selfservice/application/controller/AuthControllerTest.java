@@ -1,10 +1,12 @@
 package com.selfservice.application.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.time.Duration;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +30,7 @@ import com.selfservice.domain.entity.Role;
 import com.selfservice.domain.service.AuthService;
 import com.selfservice.infrastructure.exception.BusinessException;
 import com.selfservice.infrastructure.exception.ResourceNotFoundException;
+import com.selfservice.infrastructure.exception.ServiceOverloadedException;
 import com.selfservice.infrastructure.security.CustomUserDetailsService;
 import com.selfservice.infrastructure.security.JwtAuthenticationFilter;
 import com.selfservice.infrastructure.security.JwtTokenProvider;
@@ -127,6 +130,30 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.roles[0]").value(Role.CUSTOMER.name()));
     }
 
+    @Test
+    @DisplayName("Deve retornar 503 com Retry-After quando o pool de hash está saturado")
+    void loginOverloaded() throws Exception {
+        when(authService.login(any(LoginRequestDTO.class)))
+                .thenThrow(new ServiceOverloadedException("Muitas autenticações em andamento", Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    @DisplayName("Deve revogar o token enviado no logout")
+    void logout() throws Exception {
+        mockMvc.perform(post("/auth/logout")
+                .header("Authorization", "Bearer jwt.token.test"))
+                .andExpect(status().isNoContent());
+
+        verify(authService).logout("jwt.token.test");
+    }
+
     @Test
     @DisplayName("Deve retornar erro ao tentar login com dados inválidos")
     void loginInvalidData() throws Exception {
@@ -0,0 +1,215 @@
+package com.selfservice.application.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.infrastructure.cache.CatalogVersion;
+import com.selfservice.infrastructure.pagination.ProductCountEstimator;
+import com.selfservice.infrastructure.reactive.ReactiveProductRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ProductCatalogHandlerTest {
+
+    private ReactiveProductRepository productRepository;
+    private CatalogVersion catalogVersion;
+    private ProductCountEstimator productCountEstimator;
+    private WebTestClient client;
+
+    private ProductResponseDTO pizza;
+    private ProductResponseDTO burger;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ReactiveProductRepository.class);
+        catalogVersion = new CatalogVersion(100);
+        productCountEstimator = mock(ProductCountEstimator.class);
+        client = WebTestClient.bindToRouterFunction(
+                new ProductCatalogHandler(productRepository, catalogVersion, productCountEstimator).routes()).build();
+
+        pizza = new ProductResponseDTO(1L, "Pizza", "Pizza de calabresa", new BigDecimal("45.90"));
+        burger = new ProductResponseDTO(2L, "Burger", "Hambúrguer artesanal", new BigDecimal("32.50"));
+    }
+
+    @Test
+    @DisplayName("Deve listar todos os produtos como array JSON com ETag")
+    void findAll() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(Flux.just(pizza, burger));
+
+        // Act & Assert
+        client.get().uri("/products").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, catalogVersion.etag("json"))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Pizza")
+                .jsonPath("$[1].price").isEqualTo(32.50);
+    }
+
+    @Test
+    @DisplayName("Deve transmitir os produtos como NDJSON quando solicitado")
+    void streamAll() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(Flux.just(pizza, burger));
+
+        // Act & Assert
+        client.get().uri("/products").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ProductResponseDTO.class).hasSize(2).contains(pizza, burger);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem consultar o banco quando o ETag não mudou")
+    void findAllNotModified() {
+        // Act & Assert
+        client.get().uri("/products").accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, catalogVersion.etag("json"))
+                .exchange()
+                .expectStatus().isNotModified();
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retornar produto pelo ID")
+    void findById() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Mono.just(pizza));
+
+        // Act & Assert
+        client.get().uri("/products/1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, catalogVersion.etag(1L))
+                .expectBody(ProductResponseDTO.class).isEqualTo(pizza);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 no formato de erro padrão quando o produto não existe")
+    void findByIdNotFound() {
+        // Arrange
+        when(productRepository.findById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        client.get().uri("/products/99").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.path").isEqualTo("/products/99");
+    }
+
+    @Test
+    @DisplayName("Deve paginar com filtros e contagem exata")
+    void findAllPaged() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName("pizza");
+        filter.setMinPrice(new BigDecimal("20"));
+        when(productRepository.findAll(eq(filter), eq(Sort.by(Sort.Direction.DESC, "price")), eq(10L), eq(10)))
+                .thenReturn(Flux.just(pizza));
+        when(productRepository.count(filter)).thenReturn(Mono.just(11L));
+
+        // Act & Assert
+        client.get().uri("/products/paged?name=pizza&minPrice=20&page=1&sort=price&direction=desc").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.pageNumber").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(11)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.totalExact").isEqualTo(true)
+                .jsonPath("$.last").isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Deve paginar sem contagem usando uma linha extra para hasNext")
+    void findAllPagedWithoutCount() {
+        // Arrange
+        when(productRepository.findAll(any(), any(), anyLong(), eq(2))).thenReturn(Flux.just(pizza, burger));
+
+        // Act & Assert
+        client.get().uri("/products/paged?size=1&count=none").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.totalElements").doesNotExist();
+        verify(productRepository, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Deve usar a mesma estimativa do Tomcat quando há próxima página")
+    void findAllPagedEstimated() {
+        // Arrange
+        when(productRepository.findAll(any(), any(), anyLong(), eq(2))).thenReturn(Flux.just(pizza, burger));
+        when(productCountEstimator.estimate(any())).thenReturn(5000L);
+
+        // Act & Assert
+        client.get().uri("/products/paged?size=1&count=estimated").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(5000)
+                .jsonPath("$.totalExact").isEqualTo(false);
+        verify(productRepository, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Deve manter a próxima página quando a estimativa está abaixo do que a página comprova")
+    void findAllPagedUnderestimated() {
+        // Arrange
+        when(productRepository.findAll(any(), any(), eq(2L), eq(3))).thenReturn(Flux.just(pizza, burger, pizza));
+        when(productCountEstimator.estimate(any())).thenReturn(1L);
+
+        // Act & Assert
+        client.get().uri("/products/paged?page=1&size=2&count=estimated").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(5)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.last").isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Deve informar o total exato na última página sem consultar a estimativa")
+    void findAllPagedEstimatedLastPage() {
+        // Arrange
+        when(productRepository.findAll(any(), any(), eq(2L), eq(3))).thenReturn(Flux.just(pizza));
+
+        // Act & Assert
+        client.get().uri("/products/paged?page=1&size=2&count=estimated").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalExact").isEqualTo(true)
+                .jsonPath("$.hasNext").isEqualTo(false)
+                .jsonPath("$.last").isEqualTo(true);
+        verify(productCountEstimator, never()).estimate(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para modo de contagem inválido")
+    void findAllPagedInvalidCount() {
+        // Act & Assert
+        client.get().uri("/products/paged?count=sometimes").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400);
+    }
+}
@@ -7,8 +7,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,27 +20,42 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selfservice.application.dto.common.BulkItemResultDTO;
+import com.selfservice.application.dto.common.BulkResultDTO;
+import com.selfservice.application.dto.product.ProductPatchDTO;
 import com.selfservice.application.dto.product.ProductRequestDTO;
 import com.selfservice.application.dto.product.ProductResponseDTO;
 import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.domain.service.ProductBulkService;
 import com.selfservice.domain.service.ProductService;
+import com.selfservice.infrastructure.cache.CatalogVersion;
 import com.selfservice.infrastructure.exception.ResourceNotFoundException;
 import com.selfservice.infrastructure.mapper.ProductMapper;
+import com.selfservice.infrastructure.pagination.EstimatedPage;
+import com.selfservice.infrastructure.pagination.ProductCursor;
+import com.selfservice.infrastructure.pagination.ProductFilterKey;
+import com.selfservice.infrastructure.pagination.ProductSortKey;
 import com.selfservice.infrastructure.security.CustomUserDetailsService;
 import com.selfservice.infrastructure.security.JwtAuthenticationFilter;
 import com.selfservice.infrastructure.security.JwtTokenProvider;
 import com.selfservice.application.dto.product.ProductFilterDTO;
 
 @WebMvcTest(ProductController.class)
+@Import(CatalogVersion.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ProductControllerTest {
 
@@ -47,9 +65,15 @@ class ProductControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBulkService productBulkService;
+
     @MockBean
     private ProductMapper productMapper;
 
@@ -99,8 +123,7 @@ class ProductControllerTest {
     @WithMockUser
     @DisplayName("Deve retornar lista de produtos com sucesso")
     void findAll() throws Exception {
-        when(productService.findAll()).thenReturn(productList);
-        when(productMapper.toDTO(any(Product.class))).thenReturn(productResponseDTO);
+        when(productService.findAll()).thenReturn(List.of(productResponseDTO, productResponseDTO));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
@@ -110,12 +133,36 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].name", is("Pizza Margherita")));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve transmitir produtos em NDJSON quando solicitado")
+    @SuppressWarnings("unchecked")
+    void streamAll() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            productList.forEach(consumer);
+            return null;
+        }).when(productService).streamAll(any(Consumer.class));
+        when(productMapper.toDTO(any(Product.class))).thenReturn(productResponseDTO);
+
+        MvcResult result = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Pizza Margherita\",\"description\":\"Pizza tradicional italiana\",\"price\":45.90}\n"
+                        + "{\"id\":1,\"name\":\"Pizza Margherita\",\"description\":\"Pizza tradicional italiana\",\"price\":45.90}\n"));
+        verify(productService, never()).findAll();
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve retornar produto por ID com sucesso")
     void findById() throws Exception {
-        when(productService.findById(1L)).thenReturn(product);
-        when(productMapper.toDTO(any(Product.class))).thenReturn(productResponseDTO);
+        when(productService.findById(1L)).thenReturn(productResponseDTO);
 
         mockMvc.perform(get("/products/{id}", 1L))
                 .andExpect(status().isOk())
@@ -124,6 +171,37 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.name", is("Pizza Margherita")));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve responder 304 sem consultar quando a ETag do produto não mudou")
+    void findByIdNotModified() throws Exception {
+        when(productService.findById(1L)).thenReturn(productResponseDTO);
+
+        String etag = mockMvc.perform(get("/products/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(productService, times(1)).findById(1L);
+
+        catalogVersion.onProductChanged(ProductChangedEvent.saved(product));
+        mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve responder 304 na listagem paginada enquanto o catálogo não muda")
+    void findAllPagedNotModified() throws Exception {
+        mockMvc.perform(get("/products/paged").header("If-None-Match", catalogVersion.etag("json")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", catalogVersion.etag("json")));
+        verifyNoInteractions(productService);
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve retornar 404 quando produto não encontrado")
@@ -194,6 +272,52 @@ class ProductControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve atualizar parcialmente um produto")
+    void patchProduct() throws Exception {
+        ProductPatchDTO patchDTO = new ProductPatchDTO();
+        patchDTO.setPrice(new BigDecimal("49.90"));
+        when(productMapper.toEntity(any(ProductPatchDTO.class))).thenReturn(product);
+        when(productService.patch(eq(1L), any(Product.class))).thenReturn(product);
+        when(productMapper.toDTO(any(Product.class))).thenReturn(productResponseDTO);
+
+        mockMvc.perform(patch("/products/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve rejeitar atualização parcial com nome em branco")
+    void patchBlankName() throws Exception {
+        ProductPatchDTO patchDTO = new ProductPatchDTO();
+        patchDTO.setName("   ");
+
+        mockMvc.perform(patch("/products/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).patch(any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar 404 quando atualizar parcialmente produto inexistente")
+    void patchNotFound() throws Exception {
+        when(productMapper.toEntity(any(ProductPatchDTO.class))).thenReturn(product);
+        when(productService.patch(eq(99L), any(Product.class)))
+                .thenThrow(new ResourceNotFoundException("Product", 99L));
+
+        mockMvc.perform(patch("/products/{id}", 99L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve deletar produto com sucesso")
@@ -204,6 +328,28 @@ class ProductControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve criar produtos em massa devolvendo o resultado de cada item")
+    @SuppressWarnings("unchecked")
+    void createBulk() throws Exception {
+        when(productBulkService.create(any(Iterator.class))).thenAnswer(invocation -> {
+            Iterator<?> items = invocation.getArgument(0);
+            List<BulkItemResultDTO> results = new ArrayList<>();
+            items.forEachRemaining(item -> results.add(
+                    BulkItemResultDTO.of(results.size(), results.size() + 1L, BulkItemResultDTO.Status.CREATED)));
+            return BulkResultDTO.of(results);
+        });
+
+        mockMvc.perform(post("/products/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(productRequestDTO, productRequestDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.items[1].status", is("CREATED")));
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve retornar 404 quando deletar produto inexistente")
@@ -220,9 +366,9 @@ class ProductControllerTest {
     @DisplayName("Deve retornar página de produtos com sucesso")
     void findAllPaged() throws Exception {
         ProductFilterDTO filter = new ProductFilterDTO();
-        Page<Product> productPage = new PageImpl<>(productList, PageRequest.of(0, 10), productList.size());
+        Page<ProductResponseDTO> productPage = new PageImpl<>(
+                List.of(productResponseDTO, productResponseDTO), PageRequest.of(0, 10), 2);
         when(productService.findAll(any(ProductFilterDTO.class), any(Pageable.class))).thenReturn(productPage);
-        when(productMapper.toDTO(any(Product.class))).thenReturn(productResponseDTO);
 
         mockMvc.perform(get("/products/paged")
                 .param("page", "0")
@@ -233,7 +379,86 @@ class ProductControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.content", hasSize(2)))
                 .andExpect(jsonPath("$.totalElements", is(2)))
+                .andExpect(jsonPath("$.totalExact", is(true)))
                 .andExpect(jsonPath("$.content[0].id", is(1)))
                 .andExpect(jsonPath("$.content[0].name", is("Pizza Margherita")));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar página sem total quando a contagem é dispensada")
+    void findAllPagedWithoutCount() throws Exception {
+        when(productService.findSlice(any(ProductFilterDTO.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(productResponseDTO, productResponseDTO), PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get("/products/paged")
+                .param("size", "2")
+                .param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalExact").doesNotExist());
+        verify(productService, never()).findAll(any(ProductFilterDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve sinalizar total aproximado no modo estimado")
+    void findAllPagedEstimated() throws Exception {
+        when(productService.findAllEstimated(any(ProductFilterDTO.class), any(Pageable.class)))
+                .thenReturn(new EstimatedPage<>(List.of(productResponseDTO, productResponseDTO), PageRequest.of(0, 2), 500));
+
+        mockMvc.perform(get("/products/paged")
+                .param("size", "2")
+                .param("count", "estimated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(500)))
+                .andExpect(jsonPath("$.totalExact", is(false)));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve sinalizar total exato no modo estimado quando a página já traz o total exato")
+    void findAllPagedEstimatedFromIndex() throws Exception {
+        when(productService.findAllEstimated(any(ProductFilterDTO.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(productResponseDTO, productResponseDTO), PageRequest.of(0, 2), 500));
+
+        mockMvc.perform(get("/products/paged")
+                .param("size", "2")
+                .param("count", "estimated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(500)))
+                .andExpect(jsonPath("$.totalExact", is(true)));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar página por cursor com token de continuação")
+    void findAllByCursor() throws Exception {
+        when(productService.findAll(any(ProductFilterDTO.class), eq(ProductSortKey.PRICE), eq(Sort.Direction.DESC),
+                isNull(), eq(2)))
+                .thenReturn(new SliceImpl<>(productList, PageRequest.of(0, 2), true));
+        when(productMapper.toDTO(any(Product.class))).thenReturn(productResponseDTO);
+
+        String expectedCursor = new ProductCursor(ProductSortKey.PRICE, Sort.Direction.DESC, "40.90", 2L,
+                ProductFilterKey.of(new ProductFilterDTO()).fingerprint()).encode();
+
+        mockMvc.perform(get("/products/cursor")
+                .param("size", "2")
+                .param("sort", "price")
+                .param("direction", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is(expectedCursor)));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar 400 para ordenação não indexada na paginação por cursor")
+    void findAllByCursorInvalidSort() throws Exception {
+        mockMvc.perform(get("/products/cursor").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,88 @@
+package com.selfservice.application.controller;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.selfservice.domain.service.ProductImportService;
+import com.selfservice.infrastructure.exception.ResourceNotFoundException;
+import com.selfservice.infrastructure.importer.ImportFormat;
+import com.selfservice.infrastructure.importer.ProductImportJob;
+import com.selfservice.infrastructure.security.CustomUserDetailsService;
+import com.selfservice.infrastructure.security.JwtAuthenticationFilter;
+import com.selfservice.infrastructure.security.JwtTokenProvider;
+
+@WebMvcTest(ProductImportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ProductImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductImportService productImportService;
+
+    @MockBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve aceitar um CSV e responder 202 com o endereço do acompanhamento")
+    void importCsv() throws Exception {
+        ProductImportJob job = new ProductImportJob(ImportFormat.CSV, Path.of("import.csv"), Path.of("work"));
+        when(productImportService.submit(any(InputStream.class), eq(ImportFormat.CSV))).thenReturn(job);
+
+        mockMvc.perform(post("/products/import")
+                .contentType("text/csv")
+                .content("name,price\nPizza,45.90\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/products/import/" + job.getId())))
+                .andExpect(jsonPath("$.id", is(job.getId())))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar 400 quando o formato não puder ser determinado")
+    void importUnknownFormat() throws Exception {
+        mockMvc.perform(post("/products/import")
+                .contentType("application/octet-stream")
+                .content("name,price\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productImportService);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar 404 para importação desconhecida")
+    void findByIdNotFound() throws Exception {
+        when(productImportService.find("x")).thenThrow(new ResourceNotFoundException("Importação não encontrada: x"));
+
+        mockMvc.perform(get("/products/import/{id}", "x"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -4,6 +4,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,10 +28,15 @@ import com.selfservice.application.dto.auth.RegisterRequestDTO;
 import com.selfservice.application.dto.auth.UpdateUserRequestDTO;
 import com.selfservice.domain.entity.Role;
 import com.selfservice.domain.entity.User;
+import com.selfservice.infrastructure.cache.UserCache;
 import com.selfservice.infrastructure.exception.BusinessException;
 import com.selfservice.infrastructure.exception.ResourceNotFoundException;
 import com.selfservice.infrastructure.repository.UserRepository;
 import com.selfservice.infrastructure.security.JwtTokenProvider;
+import com.selfservice.infrastructure.security.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
@@ -45,6 +53,12 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private TokenRevocationList revocationList;
+
     @InjectMocks
     private AuthService authService;
 
@@ -106,6 +120,7 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail(registerRequest.getEmail());
         verify(passwordEncoder).encode(registerRequest.getPassword());
         verify(userRepository).save(any(User.class));
+        verify(userCache).evict(user.getEmail());
         verify(tokenProvider).generateToken(any(User.class));
     }
 
@@ -146,6 +161,36 @@ class AuthServiceTest {
         verify(tokenProvider).generateToken(user);
     }
 
+    @Test
+    @DisplayName("Deve revogar o token no logout até a sua expiração")
+    void logoutRevokesToken() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1).withNano(0);
+        Claims claims = Jwts.claims();
+        claims.setId("9b2f0c3e-1d4a-4c57-8f1e-2a6b7c8d9e0f");
+        claims.setExpiration(Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant()));
+        when(tokenProvider.parseClaims(token)).thenReturn(Optional.of(claims));
+
+        // Act
+        authService.logout(token);
+
+        // Assert
+        verify(revocationList).revoke("9b2f0c3e-1d4a-4c57-8f1e-2a6b7c8d9e0f", expiresAt);
+    }
+
+    @Test
+    @DisplayName("Não deve revogar nada no logout com token inválido")
+    void logoutInvalidToken() {
+        // Arrange
+        when(tokenProvider.parseClaims(token)).thenReturn(Optional.empty());
+
+        // Act
+        authService.logout(token);
+
+        // Assert
+        verifyNoInteractions(revocationList);
+    }
+
     @Test
     @DisplayName("Deve atualizar usuário com sucesso")
     void updateUserSuccess() {
@@ -170,6 +215,7 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail(updateRequest.getEmail());
         verify(passwordEncoder).encode(updateRequest.getNewPassword());
         verify(userRepository).save(any(User.class));
+        verify(userCache).evict("test@test.com", "updated@test.com");
         verify(tokenProvider).generateToken(any(User.class));
     }
 
@@ -197,5 +243,6 @@ class AuthServiceTest {
         verify(userRepository).findById(1L);
         verify(userRepository).existsByEmail(updateRequest.getEmail());
         verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(userCache);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.selfservice.domain.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.selfservice.application.dto.common.BulkItemResultDTO;
+import com.selfservice.application.dto.common.BulkItemResultDTO.Status;
+import com.selfservice.application.dto.common.BulkResultDTO;
+import com.selfservice.application.dto.product.ProductBulkUpdateDTO;
+import com.selfservice.application.dto.product.ProductRequestDTO;
+import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.bulk.BulkItem;
+import com.selfservice.infrastructure.cache.ProductCache;
+import com.selfservice.infrastructure.mapper.ProductMapper;
+import com.selfservice.infrastructure.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductBulkService productBulkService;
+
+    @BeforeEach
+    void setUp() {
+        productBulkService = new ProductBulkService(
+                productRepository,
+                Mappers.getMapper(ProductMapper.class),
+                new ProductCache(100, Duration.ofMinutes(10), 1.0),
+                eventPublisher,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                entityManager,
+                transactionManager,
+                2);
+    }
+
+    @Test
+    @DisplayName("Deve criar produtos em lotes e rejeitar apenas os itens inválidos")
+    void create() {
+        // Arrange
+        AtomicLong ids = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<Product>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Product.class));
+
+        // Act
+        BulkResultDTO result = productBulkService.create(List.of(
+                BulkItem.of(0, request("Pizza", "45.90")),
+                BulkItem.of(1, request("", "10")),
+                BulkItem.of(2, request("Suco", "8.50")),
+                BulkItem.<ProductRequestDTO>unreadable(3, "Item inválido"),
+                BulkItem.of(4, request("Água", "4.00"))).iterator());
+
+        // Assert
+        assertEquals(5, result.getTotal());
+        assertEquals(3, result.getSucceeded());
+        assertEquals(List.of(Status.CREATED, Status.INVALID, Status.CREATED, Status.INVALID, Status.CREATED),
+                result.getItems().stream().map(BulkItemResultDTO::getStatus).toList());
+        assertEquals(101L, result.getItems().get(0).getId());
+        assertTrue(result.getItems().get(1).getMessage().startsWith("name:"));
+        // Lotes de 2: [Pizza, Suco] e [Água]
+        verify(entityManager, times(2)).flush();
+        verify(eventPublisher, times(3)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve refazer o lote item a item quando o banco rejeita um deles")
+    void createIsolatesFailingItem() {
+        // Arrange
+        doAnswer(invocation -> {
+            if ("Duplicado".equals(invocation.<Product>getArgument(0).getName())) {
+                throw new DataIntegrityViolationException("violação de unicidade");
+            }
+            return null;
+        }).when(entityManager).persist(any(Product.class));
+
+        // Act
+        BulkResultDTO result = productBulkService.create(List.of(
+                BulkItem.of(0, request("Pizza", "45.90")),
+                BulkItem.of(1, request("Duplicado", "10"))).iterator());
+
+        // Assert
+        assertEquals(Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(Status.FAILED, result.getItems().get(1).getStatus());
+        assertEquals("violação de unicidade", result.getItems().get(1).getMessage());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar os produtos existentes e sinalizar os inexistentes")
+    void update() {
+        // Arrange
+        Product existing = new Product();
+        existing.setId(1L);
+        existing.setName("Pizza");
+        existing.setPrice(new BigDecimal("40.00"));
+        when(productRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(existing));
+
+        // Act
+        BulkResultDTO result = productBulkService.update(List.of(
+                BulkItem.of(0, update(1L, "Pizza Grande", "55.00")),
+                BulkItem.of(1, update(99L, "Fantasma", "1.00"))).iterator());
+
+        // Assert
+        assertEquals(Status.UPDATED, result.getItems().get(0).getStatus());
+        assertEquals(Status.NOT_FOUND, result.getItems().get(1).getStatus());
+        assertEquals("Pizza Grande", existing.getName());
+        assertEquals(new BigDecimal("55.00"), existing.getPrice());
+    }
+
+    @Test
+    @DisplayName("Deve remover em lote apenas os ids existentes")
+    void delete() {
+        // Arrange
+        when(productRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        // Act
+        BulkResultDTO result = productBulkService.delete(List.of(
+                BulkItem.of(0, 1L),
+                BulkItem.of(1, 2L)).iterator());
+
+        // Assert
+        assertEquals(1, result.getSucceeded());
+        assertEquals(Status.NOT_FOUND, result.getItems().get(1).getStatus());
+        verify(productRepository).deleteAllByIdInBatch(Set.of(1L));
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(1L));
+    }
+
+    private static ProductRequestDTO request(String name, String price) {
+        ProductRequestDTO dto = new ProductRequestDTO();
+        dto.setName(name);
+        dto.setPrice(new BigDecimal(price));
+        return dto;
+    }
+
+    private static ProductBulkUpdateDTO update(Long id, String name, String price) {
+        ProductBulkUpdateDTO dto = new ProductBulkUpdateDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setPrice(new BigDecimal(price));
+        return dto;
+    }
+}
@@ -5,8 +5,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.ArrayList;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,17 +17,35 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
 import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.cache.ProductCache;
+import com.selfservice.infrastructure.exception.BusinessException;
 import com.selfservice.infrastructure.exception.ResourceNotFoundException;
+import com.selfservice.infrastructure.pagination.EstimatedPage;
+import com.selfservice.infrastructure.pagination.ProductCountEstimator;
+import com.selfservice.infrastructure.pagination.ProductCursor;
+import com.selfservice.infrastructure.pagination.ProductFilterKey;
+import com.selfservice.infrastructure.pagination.ProductSortKey;
 import com.selfservice.infrastructure.repository.ProductRepository;
+import com.selfservice.infrastructure.search.PriceIndex;
+import com.selfservice.infrastructure.search.ProductSearchIndex;
+
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
@@ -33,11 +53,33 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ProductCountEstimator productCountEstimator;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private PriceIndex priceIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(100, Duration.ofMinutes(10), 1.0);
+
     @InjectMocks
     private ProductService productService;
 
     private Product product;
     private List<Product> productList;
+    private List<ProductResponseDTO> responseList;
 
     @BeforeEach
     void setUp() {
@@ -54,6 +96,9 @@ class ProductServiceTest {
         product2.setPrice(new BigDecimal("40.90"));
 
         productList = Arrays.asList(product, product2);
+        responseList = List.of(
+                new ProductResponseDTO(1L, "Pizza Margherita", "Pizza tradicional italiana", new BigDecimal("45.90")),
+                new ProductResponseDTO(2L, "Pizza Calabresa", "Pizza com calabresa", new BigDecimal("40.90")));
     }
 
     @Test
@@ -81,33 +126,221 @@ class ProductServiceTest {
         ProductFilterDTO filter = new ProductFilterDTO();
         filter.setName("Pizza");
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> productPage = new PageImpl<>(productList, pageable, productList.size());
-        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(productPage);
+        when(productRepository.findAllProjected(any(ProductFilterDTO.class), eq(pageable.getSort()), eq(0L), eq(10)))
+                .thenReturn(responseList);
 
         // Act
-        Page<Product> result = productService.findAll(filter, pageable);
+        Page<ProductResponseDTO> result = productService.findAll(filter, pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.getTotalElements());
-        assertEquals(productList, result.getContent());
-        verify(productRepository).findAll(any(Specification.class), any(Pageable.class));
+        assertEquals(responseList, result.getContent());
+        // Primeira página incompleta: o total é conhecido sem contagem
+        verify(productRepository, never()).countFiltered(any());
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve usar a busca textual indexada quando houver termo de busca")
+    void findAllWithSearch() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch("pizza");
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("relevance"));
+        when(productRepository.search(filter, pageable.getSort(), 0L, 10)).thenReturn(responseList);
+
+        // Act
+        Page<ProductResponseDTO> result = productService.findAll(filter, pageable);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+        assertEquals(responseList, result.getContent());
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        // Primeira página incompleta: o total é conhecido sem contagem
+        verify(productRepository, never()).countSearch(any(ProductFilterDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação por relevância sem termo de busca")
+    void findAllRelevanceWithoutSearch() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("relevance"));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> productService.findAll(filter, pageable));
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar fatia sem executar contagem")
+    void findSlice() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        Pageable pageable = PageRequest.of(1, 2);
+        when(productRepository.findAllProjected(any(ProductFilterDTO.class), any(Sort.class), eq(2L), eq(3)))
+                .thenReturn(responseList);
+        lenient().when(productCountEstimator.estimate(filter)).thenReturn(1000L);
+
+        // Act
+        Slice<ProductResponseDTO> result = productService.findSlice(filter, pageable);
+
+        // Assert
+        assertFalse(result.hasNext());
+        assertEquals(responseList, result.getContent());
+        verify(productRepository, never()).countFiltered(any());
+    }
+
+    @Test
+    @DisplayName("Deve usar total estimado sem ficar abaixo do que a página comprova")
+    void findAllEstimated() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        Pageable pageable = PageRequest.of(0, 1);
+        when(productRepository.findAllProjected(any(ProductFilterDTO.class), any(Sort.class), eq(0L), eq(2)))
+                .thenReturn(responseList);
+        when(productCountEstimator.estimate(filter)).thenReturn(1000L).thenReturn(0L);
+
+        // Act
+        Page<ProductResponseDTO> estimated = productService.findAllEstimated(filter, pageable);
+        Page<ProductResponseDTO> underestimated = productService.findAllEstimated(filter, pageable);
+
+        // Assert
+        assertEquals(1000L, estimated.getTotalElements());
+        assertInstanceOf(EstimatedPage.class, estimated);
+        assertEquals(2L, underestimated.getTotalElements());
+        assertTrue(underestimated.hasNext());
+    }
+
+    @Test
+    @DisplayName("Deve informar o total exato na última página mesmo com estimativa alta")
+    void findAllEstimatedLastPage() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        Pageable pageable = PageRequest.of(1, 2);
+        when(productRepository.findAllProjected(any(ProductFilterDTO.class), any(Sort.class), eq(2L), eq(3)))
+                .thenReturn(responseList);
+
+        // Act
+        Page<ProductResponseDTO> result = productService.findAllEstimated(filter, pageable);
+
+        // Assert
+        assertEquals(4L, result.getTotalElements());
+        assertFalse(result.hasNext());
+        assertTrue(result.isLast());
+        assertFalse(result instanceof EstimatedPage);
+        verify(productCountEstimator, never()).estimate(any());
+    }
+
+    @Test
+    @DisplayName("Deve delegar a listagem ao índice em memória quando disponível")
+    void findAllWithSearchIndex() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch("pizza");
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ProductResponseDTO> expectedPage = new PageImpl<>(responseList, pageable, responseList.size());
+        when(productSearchIndex.isAvailable()).thenReturn(true);
+        when(productSearchIndex.search(filter, pageable)).thenReturn(expectedPage);
+
+        // Act
+        Page<ProductResponseDTO> result = productService.findAll(filter, pageable);
+
+        // Assert
+        assertEquals(expectedPage, result);
+        verifyNoInteractions(productRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Deve atender filtro por faixa de preço pelo índice de preços")
+    void findAllWithPriceIndex() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMaxPrice(new BigDecimal("50"));
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price"));
+        when(priceIndex.isAvailable()).thenReturn(true);
+        when(priceIndex.range(null, new BigDecimal("50"), Sort.Direction.DESC, 0L, 2))
+                .thenReturn(new PriceIndex.Range(new long[] {1L, 2L}, 5));
+        when(productRepository.findAllProjectedById(List.of(1L, 2L)))
+                .thenReturn(List.of(responseList.get(1), responseList.get(0)));
+
+        // Act
+        Page<ProductResponseDTO> result = productService.findAll(filter, pageable);
+
+        // Assert
+        assertEquals(responseList, result.getContent());
+        assertEquals(5L, result.getTotalElements());
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar página por cursor sem consulta de contagem")
+    void findAllByCursor() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        ProductCursor after = new ProductCursor(ProductSortKey.NAME, Sort.Direction.ASC, "Pizza A", 10L,
+                ProductFilterKey.of(filter).fingerprint());
+        when(productRepository.findAll(any(Specification.class), any(Sort.class), eq(0L), eq(2)))
+                .thenReturn(productList);
+
+        // Act
+        Slice<Product> result = productService.findAll(filter, ProductSortKey.NAME, Sort.Direction.ASC, after, 1);
+
+        // Assert
+        assertTrue(result.hasNext());
+        assertEquals(List.of(product), result.getContent());
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor gerado com outros filtros")
+    void findAllByCursorWithOtherFilter() {
+        // Arrange
+        ProductFilterDTO original = new ProductFilterDTO();
+        original.setName("pizza");
+        ProductFilterDTO changed = new ProductFilterDTO();
+        changed.setName("pizza");
+        changed.setMaxPrice(new BigDecimal("20"));
+        ProductCursor after = new ProductCursor(ProductSortKey.NAME, Sort.Direction.ASC, "Pizza A", 10L,
+                ProductFilterKey.of(original).fingerprint());
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () ->
+                productService.findAll(changed, ProductSortKey.NAME, Sort.Direction.ASC, after, 1));
+        verify(productRepository, never()).findAll(any(Specification.class), any(Sort.class), anyLong(), anyInt());
     }
 
     @Test
-    @DisplayName("Deve retornar lista de produtos quando buscar todos")
+    @DisplayName("Deve retornar lista de produtos projetada direto em DTO quando buscar todos")
     void findAll() {
         // Arrange
-        when(productRepository.findAll()).thenReturn(productList);
+        when(productRepository.findAllProjected()).thenReturn(responseList);
 
         // Act
-        List<Product> result = productService.findAll();
+        List<ProductResponseDTO> result = productService.findAll();
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(productList, result);
-        verify(productRepository).findAll();
+        assertEquals(responseList, result);
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve transmitir produtos desanexando cada um do contexto de persistência")
+    void streamAll() {
+        // Arrange
+        when(productRepository.streamAll()).thenReturn(productList.stream());
+        List<Product> received = new ArrayList<>();
+
+        // Act
+        productService.streamAll(received::add);
+
+        // Assert
+        assertEquals(productList, received);
+        verify(entityManager).detach(productList.get(0));
+        verify(entityManager).detach(productList.get(1));
     }
 
     @Test
@@ -117,14 +350,69 @@ class ProductServiceTest {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
         // Act
-        Product result = productService.findById(1L);
+        ProductResponseDTO result = productService.findById(1L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(product, result);
+        assertEquals(responseList.get(0), result);
         verify(productRepository).findById(1L);
     }
 
+    @Test
+    @DisplayName("Deve servir buscas repetidas por ID a partir do cache")
+    void findByIdCached() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        productService.findById(1L);
+        ProductResponseDTO result = productService.findById(1L);
+
+        // Assert
+        assertEquals(responseList.get(0), result);
+        verify(productRepository, times(1)).findById(1L);
+        assertEquals(1, productCache.stats().hitCount());
+        assertEquals(1, productCache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Deve isolar do cache as alterações feitas no produto carregado e no retornado")
+    void findByIdReturnsIsolatedCopies() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        ProductResponseDTO first = productService.findById(1L);
+        first.setName("Alterado pelo chamador");
+        product.setPrice(BigDecimal.ONE);
+        ProductResponseDTO second = productService.findById(1L);
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals(responseList.get(0), second);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache ao atualizar um produto")
+    void updateEvictsCache() {
+        // Arrange
+        Product updatedProduct = new Product();
+        updatedProduct.setId(1L);
+        updatedProduct.setName("Pizza Margherita Atualizada");
+        updatedProduct.setPrice(new BigDecimal("49.90"));
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.updateById(1L, updatedProduct)).thenReturn(Optional.of(updatedProduct));
+
+        // Act
+        productService.findById(1L);
+        productService.update(1L, updatedProduct);
+        productService.findById(1L);
+
+        // Assert
+        verify(productCache).evict(1L);
+        verify(productRepository, times(2)).findById(1L);
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando buscar por ID inexistente")
     void findByIdNonExisting() {
@@ -149,18 +437,19 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(product, result);
         verify(productRepository).save(product);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.saved(product));
     }
 
     @Test
-    @DisplayName("Deve atualizar um produto existente com sucesso")
+    @DisplayName("Deve atualizar um produto existente com um único comando, sem buscá-lo antes")
     void updateExisting() {
         // Arrange
         Product updatedProduct = new Product();
+        updatedProduct.setId(1L);
         updatedProduct.setName("Pizza Margherita Atualizada");
         updatedProduct.setPrice(new BigDecimal("49.90"));
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(updatedProduct);
+        when(productRepository.updateById(1L, updatedProduct)).thenReturn(Optional.of(updatedProduct));
 
         // Act
         Product result = productService.update(1L, updatedProduct);
@@ -168,46 +457,84 @@ class ProductServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(updatedProduct, result);
-        verify(productRepository).findById(1L);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(eventPublisher).publishEvent(ProductChangedEvent.saved(updatedProduct));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar atualizar produto inexistente")
     void updateNonExisting() {
         // Arrange
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.updateById(99L, product)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> productService.update(99L, product));
-        verify(productRepository).findById(99L);
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productCache, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar atualização parcial e devolver o produto resultante")
+    void patchExisting() {
+        // Arrange
+        Product changes = new Product();
+        changes.setPrice(new BigDecimal("49.90"));
+        Product patched = new Product();
+        patched.setId(1L);
+        patched.setName(product.getName());
+        patched.setDescription(product.getDescription());
+        patched.setPrice(new BigDecimal("49.90"));
+
+        when(productRepository.patchById(1L, changes)).thenReturn(Optional.of(patched));
+
+        // Act
+        Product result = productService.patch(1L, changes);
+
+        // Assert
+        assertEquals(patched, result);
+        verify(productCache).evict(1L);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.saved(patched));
+        verify(productRepository, never()).findById(any());
     }
 
     @Test
-    @DisplayName("Deve deletar um produto existente com sucesso")
+    @DisplayName("Deve lançar exceção ao tentar atualizar parcialmente produto inexistente")
+    void patchNonExisting() {
+        // Arrange
+        Product changes = new Product();
+        changes.setName("Nova Pizza");
+        when(productRepository.patchById(99L, changes)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> productService.patch(99L, changes));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve deletar um produto existente com um único comando")
     void deleteExisting() {
         // Arrange
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        doNothing().when(productRepository).delete(product);
+        when(productRepository.removeById(1L)).thenReturn(true);
 
         // Act
         productService.delete(1L);
 
         // Assert
-        verify(productRepository).findById(1L);
-        verify(productRepository).delete(product);
+        verify(productRepository, never()).findById(any());
+        verify(productCache).evict(1L);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(1L));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar deletar produto inexistente")
     void deleteNonExisting() {
         // Arrange
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.removeById(99L)).thenReturn(false);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> productService.delete(99L));
-        verify(productRepository).findById(99L);
-        verify(productRepository, never()).delete(any(Product.class));
+        verify(productCache, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
-} 
\ No newline at end of file
+}
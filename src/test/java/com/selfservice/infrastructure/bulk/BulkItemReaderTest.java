@@ -0,0 +1,66 @@
+package com.selfservice.infrastructure.bulk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selfservice.application.dto.product.ProductRequestDTO;
+
+class BulkItemReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve seguir lendo após um item com tipo inválido")
+    void skipsUnreadableItem() {
+        // Act
+        List<BulkItem<ProductRequestDTO>> items = read(
+                "[{\"name\":\"Pizza\",\"price\":45.9},{\"name\":\"Suco\",\"price\":\"abc\"},{\"name\":\"Água\",\"price\":4}]");
+
+        // Assert
+        assertEquals(3, items.size());
+        assertEquals("Pizza", items.get(0).value().getName());
+        assertNotNull(items.get(1).error());
+        assertEquals(1, items.get(1).index());
+        assertEquals("Água", items.get(2).value().getName());
+        assertEquals(2, items.get(2).index());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar NDJSON")
+    void readsNdjson() {
+        // Act
+        List<BulkItem<ProductRequestDTO>> items = read("{\"name\":\"Pizza\",\"price\":45.9}\n{\"name\":\"Suco\",\"price\":8}\n");
+
+        // Assert
+        assertEquals(2, items.size());
+        assertNull(items.get(1).error());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a leitura com um erro quando o JSON está malformado")
+    void stopsOnMalformedJson() {
+        // Act
+        List<BulkItem<ProductRequestDTO>> items = read("[{\"name\":\"Pizza\",\"price\":45.9},{\"name\" \"Suco\"}, {}]");
+
+        // Assert
+        assertEquals(2, items.size());
+        assertNull(items.get(0).error());
+        assertTrue(items.get(1).error().startsWith("JSON malformado"));
+    }
+
+    private List<BulkItem<ProductRequestDTO>> read(String json) {
+        BulkItemReader<ProductRequestDTO> reader = new BulkItemReader<>(objectMapper.readerFor(ProductRequestDTO.class),
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        List<BulkItem<ProductRequestDTO>> items = new ArrayList<>();
+        reader.forEachRemaining(items::add);
+        return items;
+    }
+}
@@ -0,0 +1,148 @@
+package com.selfservice.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+
+import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.CatalogReloadedEvent;
+import com.selfservice.domain.event.ProductChangedEvent;
+
+class CatalogVersionTest {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion(100);
+
+    @Test
+    @DisplayName("Deve mudar a ETag do catálogo e apenas a do produto alterado a cada escrita")
+    void onProductChanged() {
+        // Arrange
+        Product product = new Product();
+        product.setId(1L);
+        String catalogEtag = catalogVersion.etag("json");
+        String changedEtag = catalogVersion.etag(1L);
+        String untouchedEtag = catalogVersion.etag(2L);
+
+        // Act
+        catalogVersion.onProductChanged(ProductChangedEvent.saved(product));
+
+        // Assert
+        assertNotEquals(catalogEtag, catalogVersion.etag("json"));
+        assertNotEquals(changedEtag, catalogVersion.etag(1L));
+        assertEquals(untouchedEtag, catalogVersion.etag(2L));
+    }
+
+    @Test
+    @DisplayName("Deve continuar incrementando a versão após remoções")
+    void versionIsMonotonic() {
+        // Arrange
+        long before = catalogVersion.current();
+
+        // Act
+        catalogVersion.onProductChanged(ProductChangedEvent.deleted(1L));
+        catalogVersion.onProductChanged(ProductChangedEvent.deleted(2L));
+
+        // Assert
+        assertEquals(before + 2, catalogVersion.current());
+        assertEquals(catalogVersion.current(), catalogVersion.of(2L));
+    }
+
+    @Test
+    @DisplayName("Deve mudar a ETag de todos os produtos após uma carga em bloco")
+    void onCatalogReloaded() {
+        // Arrange
+        String catalogEtag = catalogVersion.etag("json");
+        String untouchedEtag = catalogVersion.etag(2L);
+
+        // Act
+        catalogVersion.onCatalogReloaded(new CatalogReloadedEvent(10));
+
+        // Assert
+        assertNotEquals(catalogEtag, catalogVersion.etag("json"));
+        assertNotEquals(untouchedEtag, catalogVersion.etag(2L));
+        assertEquals(catalogVersion.current(), catalogVersion.of(2L));
+    }
+
+    @Test
+    @DisplayName("Deve limitar as versões por produto sem reaproveitar ETags antigas")
+    void boundsTrackedProducts() {
+        // Arrange
+        CatalogVersion bounded = new CatalogVersion(2);
+        String[] before = {bounded.etag(1L), bounded.etag(2L), bounded.etag(3L)};
+
+        // Act
+        for (long id = 1; id <= 3; id++) {
+            bounded.onProductChanged(ProductChangedEvent.deleted(id));
+        }
+
+        // Assert
+        assertEquals(0, bounded.trackedProducts());
+        assertNotEquals(before[0], bounded.etag(1L));
+        assertNotEquals(before[1], bounded.etag(2L));
+        assertNotEquals(before[2], bounded.etag(3L));
+        assertEquals(bounded.current(), bounded.of(1L));
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar as versões por produto após uma carga em bloco")
+    void reloadClearsTrackedProducts() {
+        // Arrange
+        catalogVersion.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        // Act
+        catalogVersion.onCatalogReloaded(new CatalogReloadedEvent(10));
+
+        // Assert
+        assertEquals(0, catalogVersion.trackedProducts());
+        assertEquals(catalogVersion.current(), catalogVersion.of(1L));
+    }
+
+    @Test
+    @DisplayName("Deve mudar a versão depois dos listeners que atualizam índices e caches")
+    void versionChangesLast() {
+        try (AnnotationConfigApplicationContext context =
+                new AnnotationConfigApplicationContext(CatalogVersion.class, VersionRecorder.class)) {
+            // Arrange
+            CatalogVersion version = context.getBean(CatalogVersion.class);
+            VersionRecorder recorder = context.getBean(VersionRecorder.class);
+            long before = version.current();
+
+            // Act
+            context.publishEvent(ProductChangedEvent.deleted(1L));
+            context.publishEvent(new CatalogReloadedEvent(10));
+
+            // Assert
+            assertEquals(List.of(before, before + 1), recorder.seen);
+            assertEquals(before + 2, version.current());
+        }
+    }
+
+    /** Listener de estado derivado que registra a versão vista enquanto é atualizado. */
+    static class VersionRecorder {
+
+        private final CatalogVersion version;
+        private final List<Long> seen = new ArrayList<>();
+
+        VersionRecorder(CatalogVersion version) {
+            this.version = version;
+        }
+
+        @EventListener
+        @Order(CatalogVersion.BEFORE_VERSION)
+        public void onProductChanged(ProductChangedEvent event) {
+            seen.add(version.current());
+        }
+
+        @EventListener
+        @Order(CatalogVersion.BEFORE_VERSION)
+        public void onCatalogReloaded(CatalogReloadedEvent event) {
+            seen.add(version.current());
+        }
+    }
+}
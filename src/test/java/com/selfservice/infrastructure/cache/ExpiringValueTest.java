@@ -0,0 +1,72 @@
+package com.selfservice.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExpiringValueTest {
+
+    private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+    @Test
+    @DisplayName("Deve recalcular sempre depois do vencimento")
+    void recomputeAfterExpiry() {
+        // Arrange
+        ExpiringValue<String> value = new ExpiringValue<>("pizza", 10 * MILLI, 1_000 * MILLI);
+
+        // Act & Assert
+        assertTrue(value.shouldRecompute(1_000 * MILLI, 1.0));
+    }
+
+    @Test
+    @DisplayName("Deve praticamente nunca recalcular longe do vencimento")
+    void rarelyRecomputeEarly() {
+        // Arrange
+        ExpiringValue<String> value = new ExpiringValue<>("pizza", MILLI, Duration.ofMinutes(10).toNanos());
+        int recomputations = 0;
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            if (value.shouldRecompute(0, 1.0)) {
+                recomputations++;
+            }
+        }
+
+        // Assert
+        assertEquals(0, recomputations);
+    }
+
+    @Test
+    @DisplayName("Deve antecipar parte dos recálculos perto do vencimento")
+    void sometimesRecomputeNearExpiry() {
+        // Arrange: falta um delta para vencer, probabilidade de 1/e por leitura
+        ExpiringValue<String> value = new ExpiringValue<>("pizza", 10 * MILLI, 1_000 * MILLI);
+        int recomputations = 0;
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            if (value.shouldRecompute(990 * MILLI, 1.0)) {
+                recomputations++;
+            }
+        }
+
+        // Assert
+        assertTrue(recomputations > 2_000 && recomputations < 5_000, "recálculos: " + recomputations);
+    }
+
+    @Test
+    @DisplayName("Deve medir o tempo de cálculo e o vencimento ao carregar")
+    void compute() {
+        // Act
+        long before = System.nanoTime();
+        ExpiringValue<Integer> value = ExpiringValue.compute("key", String::length, Duration.ofMinutes(1));
+
+        // Assert
+        assertEquals(3, value.value());
+        assertTrue(value.computeNanos() >= 0);
+        assertTrue(value.expiresAtNanos() >= before + Duration.ofMinutes(1).toNanos());
+    }
+}
@@ -0,0 +1,80 @@
+package com.selfservice.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.selfservice.domain.event.ProductChangedEvent;
+
+class OffHeapResponseCacheTest {
+
+    private final OffHeapResponseCache cache = new OffHeapResponseCache(DataSize.ofKilobytes(1), 2, true);
+
+    @Test
+    @DisplayName("Deve guardar corpo e versão gzip fora do heap")
+    void putAndGet() throws IOException {
+        // Arrange
+        byte[] body = "{\"content\":[]}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        cache.put(cache.current(), "key", "application/json", "\"v1\"", body);
+        OffHeapResponseCache.CachedResponse cached = cache.get("key");
+
+        // Assert
+        assertNotNull(cached);
+        assertTrue(cached.body().isDirect());
+        assertArrayEquals(body, bytes(cached.body()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes(cached.gzipBody())))) {
+            assertArrayEquals(body, gzip.readAllBytes());
+        }
+        assertEquals("\"v1\"", cached.etag());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar tudo quando um produto muda")
+    void onProductChanged() {
+        // Arrange
+        OffHeapResponseCache.Arena before = cache.current();
+        cache.put(before, "key", "application/json", null, new byte[] {'1'});
+
+        // Act
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+        cache.put(before, "stale", "application/json", null, new byte[] {'2'});
+
+        // Assert
+        assertNull(cache.get("key"));
+        assertNull(cache.get("stale"));
+    }
+
+    @Test
+    @DisplayName("Deve recomeçar com uma arena vazia quando os slabs se esgotam")
+    void arenaFull() {
+        // Arrange
+        byte[] body = new byte[600];
+
+        // Act
+        cache.put(cache.current(), "a", "application/json", null, body);
+        cache.put(cache.current(), "b", "application/json", null, body);
+        cache.put(cache.current(), "c", "application/json", null, body);
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        ByteBuffer copy = buffer.duplicate();
+        byte[] bytes = new byte[copy.remaining()];
+        copy.get(bytes);
+        return bytes;
+    }
+}
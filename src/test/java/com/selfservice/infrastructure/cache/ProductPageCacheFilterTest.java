@@ -0,0 +1,126 @@
+package com.selfservice.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.selfservice.infrastructure.datasource.ReplicaRoutingDataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ProductPageCacheFilterTest {
+
+    private static final String BODY = "{\"content\":[{\"id\":1}]}";
+
+    private final OffHeapResponseCache cache = new OffHeapResponseCache(DataSize.ofMegabytes(1), 1, true);
+    private final ProductPageCacheFilter filter = new ProductPageCacheFilter(cache);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final FilterChain controller = (request, response) -> {
+        calls.incrementAndGet();
+        response.setContentType("application/json");
+        ((HttpServletResponse) response).setHeader("ETag", "\"catalog-1-json\"");
+        response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    @DisplayName("Deve servir a segunda requisição equivalente direto do cache")
+    void servesFromCache() throws ServletException, IOException {
+        // Act
+        MockHttpServletResponse first = perform(request("name", "Pizza", "minPrice", "20.00"));
+        MockHttpServletResponse second = perform(request("name", "pizza", "minPrice", "20", "page", "0"));
+
+        // Assert
+        assertEquals(1, calls.get());
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals("\"catalog-1-json\"", second.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar a resposta que vai para o cache fixada no primário")
+    void fillsFromPrimary() throws ServletException, IOException {
+        // Arrange
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (request, response) -> {
+            pinned.set(ReplicaRoutingDataSource.isPinned());
+            controller.doFilter(request, response);
+        };
+
+        // Act
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertTrue(pinned.get());
+        assertFalse(ReplicaRoutingDataSource.isPinned());
+    }
+
+    @Test
+    @DisplayName("Deve entregar a versão gzip quando o cliente aceita")
+    void servesGzip() throws ServletException, IOException {
+        // Arrange
+        perform(request());
+        MockHttpServletRequest request = request();
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+
+        // Act
+        MockHttpServletResponse response = perform(request);
+
+        // Assert
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 a partir do cache quando a ETag coincide")
+    void notModifiedFromCache() throws ServletException, IOException {
+        // Arrange
+        perform(request());
+        MockHttpServletRequest request = request();
+        request.addHeader("If-None-Match", "\"catalog-1-json\"");
+
+        // Act
+        MockHttpServletResponse response = perform(request);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentLength());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o cache quando um parâmetro é inválido")
+    void invalidParameter() throws ServletException, IOException {
+        // Act
+        perform(request("minPrice", "abc"));
+        perform(request("minPrice", "abc"));
+
+        // Assert
+        assertEquals(2, calls.get());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/paged");
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package com.selfservice.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única vez para chamadas simultâneas com a mesma chave")
+    void coalescesConcurrentCalls() throws Exception {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        Future<Integer> leader = executor.submit(() -> flights.execute("page-0", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return executions.incrementAndGet();
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<Future<Integer>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> flights.execute("page-0", executions::incrementAndGet)));
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        // Assert
+        assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Integer> follower : followers) {
+            assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Deve executar de novo depois que a execução anterior terminou")
+    void doesNotCacheResults() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        flights.execute("page-0", executions::incrementAndGet);
+        int second = flights.execute("page-0", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(2, second);
+    }
+
+    @Test
+    @DisplayName("Deve propagar a exceção e liberar a chave para a próxima chamada")
+    void propagatesFailure() {
+        // Act
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> flights.execute("page-0", () -> {
+                    throw new IllegalStateException("banco indisponível");
+                }));
+
+        // Assert
+        assertEquals("banco indisponível", ex.getMessage());
+        assertEquals(7, flights.execute("page-0", () -> 7));
+    }
+
+    @Test
+    @DisplayName("Deve devolver null sem executar quando a chave já está em execução")
+    void tryExecuteSkipsWhileInFlight() throws Exception {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        Future<Integer> leader = executor.submit(() -> flights.tryExecute("product-1", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return executions.incrementAndGet();
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Integer skipped = flights.tryExecute("product-1", executions::incrementAndGet);
+        release.countDown();
+
+        // Assert
+        assertNull(skipped);
+        assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        assertEquals(2, flights.tryExecute("product-1", executions::incrementAndGet));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
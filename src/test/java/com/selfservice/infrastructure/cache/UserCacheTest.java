@@ -0,0 +1,77 @@
+package com.selfservice.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selfservice.domain.entity.Role;
+import com.selfservice.domain.entity.User;
+
+class UserCacheTest {
+
+    private final UserCache cache = new UserCache(100, Duration.ofMinutes(5), 100, Duration.ofSeconds(30));
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final User user = User.builder()
+            .id(1L)
+            .name("Test User")
+            .email("test@test.com")
+            .password("encodedPassword")
+            .roles(Set.of(Role.CUSTOMER))
+            .enabled(true)
+            .build();
+
+    private final Function<String, Optional<User>> repository = email -> {
+        queries.incrementAndGet();
+        return email.equals(user.getEmail()) ? Optional.of(user) : Optional.empty();
+    };
+
+    @Test
+    @DisplayName("Deve consultar o usuário uma única vez por email")
+    void cachesUser() {
+        // Act
+        Optional<User> first = cache.get("test@test.com", repository);
+        Optional<User> second = cache.get("test@test.com", repository);
+
+        // Assert
+        assertSame(user, first.orElseThrow());
+        assertSame(user, second.orElseThrow());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    @DisplayName("Deve guardar emails inexistentes sem consultar de novo")
+    void cachesMissingUser() {
+        // Act
+        Optional<User> first = cache.get("unknown@test.com", repository);
+        Optional<User> second = cache.get("unknown@test.com", repository);
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    @DisplayName("Deve consultar de novo depois de remover o email dos caches")
+    void evictsUser() {
+        // Arrange
+        cache.get("test@test.com", repository);
+        cache.get("unknown@test.com", repository);
+
+        // Act
+        cache.evict("test@test.com", "unknown@test.com");
+        cache.get("test@test.com", repository);
+        cache.get("unknown@test.com", repository);
+
+        // Assert
+        assertEquals(4, queries.get());
+    }
+}
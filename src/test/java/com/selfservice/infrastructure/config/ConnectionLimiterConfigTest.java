@@ -0,0 +1,45 @@
+package com.selfservice.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selfservice.infrastructure.datasource.ConcurrencyLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+class ConnectionLimiterConfigTest {
+
+    @Test
+    @DisplayName("Deve fechar o pool do Hikari ao fechar o contexto")
+    void closesPoolWithContext() {
+        // Arrange
+        AnnotationConfigApplicationContext context =
+                new AnnotationConfigApplicationContext(ConnectionLimiterConfig.class, PoolConfig.class);
+        DataSource dataSource = context.getBean(DataSource.class);
+        HikariDataSource pool = (HikariDataSource) ((ConcurrencyLimitingDataSource) dataSource).getTargetDataSource();
+
+        // Act
+        context.close();
+
+        // Assert
+        assertTrue(pool.isClosed());
+    }
+
+    @Configuration
+    static class PoolConfig {
+
+        @Bean
+        HikariDataSource dataSource() {
+            // Sem jdbcUrl o pool só abre conexões no primeiro getConnection
+            HikariDataSource pool = new HikariDataSource();
+            pool.setMaximumPoolSize(2);
+            return pool;
+        }
+    }
+}
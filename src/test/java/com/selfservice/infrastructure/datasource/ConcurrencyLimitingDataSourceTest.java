@@ -0,0 +1,88 @@
+package com.selfservice.infrastructure.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando nenhuma permissão é liberada dentro do timeout")
+    void timeoutWhenExhausted() throws Exception {
+        // Arrange
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a permissão uma única vez ao fechar a conexão")
+    void releaseOnClose() throws Exception {
+        // Arrange
+        Connection first = dataSource.getConnection();
+
+        // Act
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(connection, times(2)).close();
+        assertNotNull(second);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a permissão quando o pool falha ao entregar a conexão")
+    void releaseOnFailure() throws Exception {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("pool fechado")).thenReturn(connection);
+
+        // Act
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        Connection retry = dataSource.getConnection();
+
+        // Assert
+        assertNotNull(retry);
+    }
+
+    @Test
+    @DisplayName("Deve fechar o pool de destino ao ser fechado")
+    void closeClosesTarget() throws Exception {
+        // Arrange
+        HikariDataSource pool = new HikariDataSource();
+        ConcurrencyLimitingDataSource limited = new ConcurrencyLimitingDataSource(pool, 1, Duration.ofMillis(50));
+
+        // Act
+        limited.close();
+
+        // Assert
+        assertTrue(pool.isClosed());
+    }
+}
@@ -0,0 +1,104 @@
+package com.selfservice.infrastructure.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+class ReadYourWritesFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(
+            Duration.ofSeconds(5), Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Deve fixar escritas no primário e devolver o fim da janela")
+    void writeSetsWindow() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/products/1");
+        request.setContextPath("/api");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        // Act
+        filter.doFilter(request, response, recordPinned(pinned));
+
+        // Assert
+        assertTrue(pinned.get());
+        assertFalse(ReplicaRoutingDataSource.isPinned());
+        assertEquals(Long.toString(NOW + 5000), response.getHeader(ReadYourWritesFilter.HEADER));
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.COOKIE + "=" + (NOW + 5000)));
+        assertTrue(cookie.contains("Path=/api"));
+        assertTrue(cookie.contains("Max-Age=5"));
+    }
+
+    @Test
+    @DisplayName("Deve fixar no primário leituras dentro da janela informada no cookie")
+    void readInsideWindowIsPinned() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(NOW + 1000)));
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), recordPinned(pinned));
+
+        // Assert
+        assertTrue(pinned.get());
+    }
+
+    @Test
+    @DisplayName("Deve deixar leituras com janela expirada irem para a réplica")
+    void readAfterWindowIsNotPinned() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/1");
+        request.addHeader(ReadYourWritesFilter.HEADER, Long.toString(NOW - 1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        // Act
+        filter.doFilter(request, response, recordPinned(pinned));
+
+        // Assert
+        assertFalse(pinned.get());
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar janelas maiores que a configurada ou inválidas")
+    void ignoresForgedWindow() throws Exception {
+        // Arrange
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/products/1");
+        forged.addHeader(ReadYourWritesFilter.HEADER, Long.toString(Long.MAX_VALUE));
+        MockHttpServletRequest invalid = new MockHttpServletRequest("GET", "/products/1");
+        invalid.addHeader(ReadYourWritesFilter.HEADER, "amanhã");
+        AtomicBoolean forgedPinned = new AtomicBoolean();
+        AtomicBoolean invalidPinned = new AtomicBoolean();
+
+        // Act
+        filter.doFilter(forged, new MockHttpServletResponse(), recordPinned(forgedPinned));
+        filter.doFilter(invalid, new MockHttpServletResponse(), recordPinned(invalidPinned));
+
+        // Assert
+        assertFalse(forgedPinned.get());
+        assertFalse(invalidPinned.get());
+    }
+
+    private static FilterChain recordPinned(AtomicBoolean pinned) {
+        return (request, response) -> pinned.set(ReplicaRoutingDataSource.isPinned());
+    }
+}
@@ -0,0 +1,142 @@
+package com.selfservice.infrastructure.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selfservice.domain.event.ProductChangedEvent;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário fora de transações somente leitura")
+    void routesWritesToPrimary() throws Exception {
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    @DisplayName("Deve usar a réplica em transações somente leitura")
+    void routesReadOnlyToReplica() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(replicaConnection, connection);
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário em leituras quando a thread estiver fixada")
+    void pinnedReadsGoToPrimary() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    @DisplayName("Deve manter a fixação de quem já estava fixado ao sair de onPrimary")
+    void onPrimaryKeepsOuterPin() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        // Act
+        Connection inside = ReplicaRoutingDataSource.onPrimary(this::connection);
+
+        // Assert
+        assertSame(primaryConnection, inside);
+        assertTrue(ReplicaRoutingDataSource.isPinned());
+    }
+
+    @Test
+    @DisplayName("Deve fixar a thread só durante onPrimary")
+    void onPrimaryUnpinsAfterward() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection inside = ReplicaRoutingDataSource.onPrimary(this::connection);
+        Connection after = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, inside);
+        assertSame(replicaConnection, after);
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário enquanto a réplica alcança uma escrita no catálogo")
+    void catalogWriteRoutesReadsToPrimaryDuringWindow() throws Exception {
+        // Arrange
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(1_000L);
+        ReplicaCatchUpWindow window = new ReplicaCatchUpWindow(Duration.ofSeconds(5), clock);
+        dataSource = new ReplicaRoutingDataSource(primary, replica, window);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        window.onProductChanged(ProductChangedEvent.deleted(1L));
+        Connection during = dataSource.getConnection();
+        when(clock.millis()).thenReturn(6_000L);
+        Connection after = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, during);
+        assertSame(replicaConnection, after);
+    }
+
+    private Connection connection() {
+        try {
+            return dataSource.getConnection();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.selfservice.infrastructure.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.flatbuf.Message;
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.flatbuf.RecordBatch;
+import org.apache.arrow.flatbuf.Schema;
+import org.apache.arrow.flatbuf.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ArrowProductWriterTest {
+
+    @Test
+    @DisplayName("Deve converter o COPY binário em schema, record batches e marcador de fim")
+    void writesArrowStream() throws IOException {
+        // Arrange
+        byte[] copy = copyBinary(
+                new Object[] {1L, "Pizza", "Margherita", 4590L},
+                new Object[] {2L, "Suco", null, null},
+                new Object[] {3L, "Água", "Sem gás", -1L});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = new ArrowProductWriter(out, 2).write(new DataInputStream(new ByteArrayInputStream(copy)));
+
+        // Assert
+        assertEquals(3, rows);
+        ByteBuffer stream = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+
+        Message schemaMessage = nextMessage(stream);
+        assertEquals(MessageHeader.Schema, schemaMessage.headerType());
+        Schema schema = (Schema) schemaMessage.header(new Schema());
+        assertEquals(4, schema.fieldsLength());
+        assertEquals("id", schema.fields(0).name());
+        assertEquals(Type.Int, schema.fields(0).typeType());
+        assertEquals(Type.Utf8, schema.fields(1).typeType());
+        assertEquals(Type.Decimal, schema.fields(3).typeType());
+
+        Message first = nextMessage(stream);
+        RecordBatch firstBatch = (RecordBatch) first.header(new RecordBatch());
+        assertEquals(2, firstBatch.length());
+        assertEquals(1, firstBatch.nodes(2).nullCount());
+        assertEquals(1, firstBatch.nodes(3).nullCount());
+        ByteBuffer body = body(stream, first);
+        assertEquals(1L, body.getLong((int) firstBatch.buffers(1).offset()));
+        assertEquals(2L, body.getLong((int) firstBatch.buffers(1).offset() + 8));
+        int nameData = (int) firstBatch.buffers(4).offset();
+        assertEquals("PizzaSuco", new String(bytes(body, nameData, (int) firstBatch.buffers(4).length()),
+                StandardCharsets.UTF_8));
+        assertEquals(4590L, body.getLong((int) firstBatch.buffers(9).offset()));
+
+        Message second = nextMessage(stream);
+        RecordBatch secondBatch = (RecordBatch) second.header(new RecordBatch());
+        assertEquals(1, secondBatch.length());
+        assertEquals(0, secondBatch.buffers(5).length(), "sem nulos, o bitmap é omitido");
+        body = body(stream, second);
+        int price = (int) secondBatch.buffers(9).offset();
+        assertEquals(-1L, body.getLong(price));
+        assertEquals(-1L, body.getLong(price + 8), "extensão de sinal do decimal128");
+
+        assertEquals(0xFFFFFFFF, stream.getInt());
+        assertEquals(0, stream.getInt());
+        assertFalse(stream.hasRemaining());
+    }
+
+    private static Message nextMessage(ByteBuffer stream) {
+        assertEquals(0xFFFFFFFF, stream.getInt());
+        int length = stream.getInt();
+        assertEquals(0, length % 8);
+        ByteBuffer metadata = stream.slice().order(ByteOrder.LITTLE_ENDIAN).limit(length);
+        stream.position(stream.position() + length);
+        return Message.getRootAsMessage(metadata);
+    }
+
+    private static ByteBuffer body(ByteBuffer stream, Message message) {
+        ByteBuffer body = stream.slice().order(ByteOrder.LITTLE_ENDIAN).limit((int) message.bodyLength());
+        stream.position(stream.position() + (int) message.bodyLength());
+        return body;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+
+    /** Saída de COPY ... (FORMAT binary) para linhas (id, name, description, centavos). */
+    private static byte[] copyBinary(Object[]... rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write("PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1));
+        out.writeInt(0);
+        out.writeInt(0);
+        for (Object[] row : rows) {
+            out.writeShort(row.length);
+            for (Object value : row) {
+                if (value == null) {
+                    out.writeInt(-1);
+                } else if (value instanceof Long number) {
+                    out.writeInt(8);
+                    out.writeLong(number);
+                } else {
+                    byte[] text = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(text.length);
+                    out.write(text);
+                }
+            }
+        }
+        out.writeShort(-1);
+        return bytes.toByteArray();
+    }
+}
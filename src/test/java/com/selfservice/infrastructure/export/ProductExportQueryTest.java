@@ -0,0 +1,41 @@
+package com.selfservice.infrastructure.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+
+class ProductExportQueryTest {
+
+    @Test
+    @DisplayName("Deve exportar o catálogo inteiro quando não houver filtros")
+    void withoutFilters() throws SQLException {
+        assertEquals("COPY (SELECT p.id, p.name, p.description, p.price FROM product p ORDER BY p.id)"
+                + " TO STDOUT (FORMAT csv, HEADER)", ProductExportQuery.csv(new ProductFilterDTO(), true));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os filtros como literais escapados")
+    void escapesFilters() throws SQLException {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName("D'Ávila'); DROP TABLE product; --");
+        filter.setSearch("pão");
+        filter.setMinPrice(new BigDecimal("10.5"));
+        filter.setMaxPrice(new BigDecimal("1E+2"));
+
+        // Act
+        String where = ProductExportQuery.where(filter, true);
+
+        // Assert
+        assertEquals(" WHERE (p.search_vector @@ websearch_to_tsquery('portuguese', 'pão')"
+                + " OR lower(p.name) % lower('pão'))"
+                + " AND lower(p.name) LIKE '%d''ávila''); drop table product; --%'"
+                + " AND p.price >= 10.5 AND p.price <= 100", where);
+    }
+}
@@ -0,0 +1,116 @@
+package com.selfservice.infrastructure.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.importer.ImportRecordReader.ImportRecord;
+import com.selfservice.infrastructure.importer.ProductImportParser.ParsedBatch;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class ProductImportParserTest {
+
+    private static final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Deve converter registros CSV em linhas do COPY, inclusive campos entre aspas com quebra de linha")
+    void parsesCsv() throws IOException {
+        // Arrange
+        List<ImportRecord> records = read(ImportFormat.CSV,
+                "name,price,description,id\n"
+                + "Pizza,45.90,\"Molho de tomate, \"\"muçarela\"\"\ne manjericão\",7\n"
+                + "\n"
+                + "Suco,8,,\n");
+        ProductImportParser parser = ProductImportParser.csv(records.get(0).raw(), validatorFactory.getValidator());
+
+        // Act
+        ParsedBatch batch = parser.parse(records.subList(1, records.size()));
+
+        // Assert
+        assertEquals(2, batch.accepted());
+        assertTrue(batch.rejected().isEmpty());
+        assertEquals("2,7,\"Pizza\",\"Molho de tomate, \"\"muçarela\"\"\ne manjericão\",45.90\n"
+                + "5,,\"Suco\",,8\n", new String(batch.copyData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar registros inválidos com o motivo, sem interromper o lote")
+    void rejectsInvalidRecords() throws IOException {
+        // Arrange
+        List<ImportRecord> records = read(ImportFormat.CSV,
+                "id,name,price\n"
+                + "abc,Pizza,45.90\n"
+                + ",,10\n"
+                + ",Suco,-1\n"
+                + ",Água,4\n");
+        ProductImportParser parser = ProductImportParser.csv(records.get(0).raw(), validatorFactory.getValidator());
+
+        // Act
+        ParsedBatch batch = parser.parse(records.subList(1, records.size()));
+
+        // Assert
+        assertEquals(1, batch.accepted());
+        assertEquals(3, batch.rejected().size());
+        assertEquals(2, batch.rejected().get(0).record().line());
+        assertTrue(batch.rejected().get(0).reason().startsWith("id:"));
+        assertEquals("name: O nome é obrigatório", batch.rejected().get(1).reason());
+        assertEquals("price: O preço deve ser maior que zero", batch.rejected().get(2).reason());
+    }
+
+    @Test
+    @DisplayName("Deve exigir as colunas name e price no cabeçalho do CSV")
+    void requiresCsvHeader() {
+        assertThrows(BusinessException.class,
+                () -> ProductImportParser.csv("id,description", validatorFactory.getValidator()));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar NDJSON e rejeitar linhas com JSON inválido")
+    void parsesNdjson() throws IOException {
+        // Arrange
+        List<ImportRecord> records = read(ImportFormat.NDJSON,
+                "{\"name\":\"Pizza\",\"price\":45.9}\n"
+                + "{\"name\":\"Suco\",\"price\":\"abc\"}\n"
+                + "{\"id\":3,\"name\":\"Água\",\"description\":null,\"price\":4}\n");
+        ProductImportParser parser = ProductImportParser.ndjson(objectMapper, validatorFactory.getValidator());
+
+        // Act
+        ParsedBatch batch = parser.parse(records);
+
+        // Assert
+        assertEquals(2, batch.accepted());
+        assertEquals(1, batch.rejected().size());
+        assertEquals(2, batch.rejected().get(0).record().line());
+        assertEquals("1,,\"Pizza\",,45.9\n3,3,\"Água\",,4\n", new String(batch.copyData(), StandardCharsets.UTF_8));
+    }
+
+    private static List<ImportRecord> read(ImportFormat format, String content) throws IOException {
+        ImportRecordReader reader = new ImportRecordReader(new BufferedReader(new StringReader(content)), format);
+        List<ImportRecord> records = new ArrayList<>();
+        ImportRecord record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
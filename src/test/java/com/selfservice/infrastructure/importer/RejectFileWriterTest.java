@@ -0,0 +1,37 @@
+package com.selfservice.infrastructure.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.selfservice.infrastructure.importer.ImportRecordReader.ImportRecord;
+import com.selfservice.infrastructure.importer.ProductImportParser.Rejected;
+
+class RejectFileWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve gravar linha, motivo e registro original escapados como CSV")
+    void writesRejectedRecords() throws IOException {
+        // Arrange
+        Path file = directory.resolve("rejects.csv");
+
+        // Act
+        try (RejectFileWriter writer = new RejectFileWriter(file)) {
+            writer.write(new Rejected(new ImportRecord(3, "Suco,\"-1\""), "price: O preço deve ser maior que zero"));
+        }
+
+        // Assert
+        assertEquals("line,reason,record\n3,\"price: O preço deve ser maior que zero\",\"Suco,\"\"-1\"\"\"\n",
+                Files.readString(file, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.selfservice.infrastructure.jpa;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class SecondLevelCacheInvalidatorTest {
+
+    private TimestampsCache timestamps;
+    private SecondLevelCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        CacheImplementor cache = mock(CacheImplementor.class);
+        timestamps = mock(TimestampsCache.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.openStatelessSession()).thenAnswer(invocation ->
+                mock(SharedSessionContractImplementor.class, withSettings().extraInterfaces(StatelessSession.class)));
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(cache.getTimestampsCache()).thenReturn(timestamps);
+        invalidator = new SecondLevelCacheInvalidator(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve pré-invalidar o espaço product antes de uma escrita fora do Hibernate")
+    void preInvalidatesBeforeWrite() {
+        // Act
+        invalidator.beforeProductWrite();
+
+        // Assert
+        verify(timestamps).preInvalidate(eq(SecondLevelCacheInvalidator.PRODUCT_SPACES), any());
+        verifyNoMoreInteractions(timestamps);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o espaço product logo após uma escrita sem transação")
+    void invalidatesAfterWrite() {
+        // Act
+        invalidator.afterProductWrite();
+
+        // Assert
+        verify(timestamps).invalidate(eq(SecondLevelCacheInvalidator.PRODUCT_SPACES), any());
+    }
+
+    @Test
+    @DisplayName("Deve esperar o fim da transação para invalidar o espaço product")
+    void invalidatesAfterTransactionCompletion() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        invalidator.afterProductWrite();
+
+        // Assert
+        verify(timestamps, never()).invalidate(any(), any());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        verify(timestamps).invalidate(eq(SecondLevelCacheInvalidator.PRODUCT_SPACES), any());
+    }
+}
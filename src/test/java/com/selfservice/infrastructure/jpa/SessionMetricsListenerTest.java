@@ -0,0 +1,50 @@
+package com.selfservice.infrastructure.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SessionMetricsListenerTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    @DisplayName("Deve registrar duração do flush e entidades inspecionadas")
+    void recordsFlush() {
+        // Arrange
+        SessionMetricsListener listener = new SessionMetricsListener();
+
+        // Act
+        listener.flushStart();
+        listener.dirtyCalculationEnd(true);
+        listener.dirtyCalculationEnd(false);
+        listener.dirtyCalculationEnd(false);
+        listener.flushEnd(3, 0);
+        listener.partialFlushStart();
+        listener.partialFlushEnd(3, 0);
+
+        // Assert
+        assertEquals(1, registry.get("hibernate.session.flush").tag("type", "full").timer().count());
+        assertEquals(1, registry.get("hibernate.session.flush").tag("type", "auto").timer().count());
+        assertEquals(3.0, registry.get("hibernate.session.flush.entities").summary().totalAmount());
+        assertEquals(1.0, registry.get("hibernate.session.dirty.checks").tag("dirty", "true").counter().count());
+        assertEquals(2.0, registry.get("hibernate.session.dirty.checks").tag("dirty", "false").counter().count());
+    }
+}
@@ -0,0 +1,98 @@
+package com.selfservice.infrastructure.pagination;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.domain.entity.Product;
+import com.selfservice.infrastructure.exception.BusinessException;
+
+class ProductCursorTest {
+
+    private static final ProductFilterKey NO_FILTER = ProductFilterKey.of(new ProductFilterDTO());
+
+    @Test
+    @DisplayName("Deve codificar e decodificar cursor por nome preservando o separador")
+    void roundTripByName() {
+        // Arrange
+        Product product = new Product();
+        product.setId(42L);
+        product.setName("Pizza | Grande");
+        product.setPrice(new BigDecimal("45.90"));
+
+        // Act
+        ProductCursor cursor = ProductCursor.after(ProductSortKey.NAME, Sort.Direction.ASC, product, NO_FILTER);
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+        assertEquals("Pizza | Grande", decoded.value());
+        assertEquals(42L, decoded.id());
+    }
+
+    @Test
+    @DisplayName("Deve codificar e decodificar cursor por preço")
+    void roundTripByPrice() {
+        // Arrange
+        Product product = new Product();
+        product.setId(7L);
+        product.setName("Suco");
+        product.setPrice(new BigDecimal("9.50"));
+
+        // Act
+        ProductCursor decoded = ProductCursor.decode(
+                ProductCursor.after(ProductSortKey.PRICE, Sort.Direction.DESC, product, NO_FILTER).encode());
+
+        // Assert
+        assertEquals(ProductSortKey.PRICE, decoded.sortKey());
+        assertEquals(Sort.Direction.DESC, decoded.direction());
+        assertEquals("9.50", decoded.value());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor adulterado")
+    void decodeInvalid() {
+        assertThrows(BusinessException.class, () -> ProductCursor.decode("nao-e-um-cursor"));
+        assertThrows(BusinessException.class, () -> ProductCursor.decode(
+                java.util.Base64.getUrlEncoder().encodeToString("PRICE|ASC|1|0|abc".getBytes())));
+        assertThrows(BusinessException.class, () -> ProductCursor.decode(
+                java.util.Base64.getUrlEncoder().encodeToString("PRICE|ASC|1|9.50".getBytes())));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o cursor só com o filtro normalizado que o gerou")
+    void requireFilter() {
+        // Arrange
+        Product product = new Product();
+        product.setId(7L);
+        product.setName("Suco");
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName("Suco");
+        filter.setMinPrice(new BigDecimal("5.0"));
+        ProductFilterDTO sameFilter = new ProductFilterDTO();
+        sameFilter.setName("suco");
+        sameFilter.setMinPrice(new BigDecimal("5"));
+        ProductFilterDTO otherFilter = new ProductFilterDTO();
+        otherFilter.setName("suco");
+
+        // Act
+        ProductCursor decoded = ProductCursor.decode(
+                ProductCursor.after(ProductSortKey.NAME, Sort.Direction.ASC, product, ProductFilterKey.of(filter)).encode());
+
+        // Assert
+        assertDoesNotThrow(() -> decoded.requireFilter(ProductFilterKey.of(sameFilter)));
+        assertThrows(BusinessException.class, () -> decoded.requireFilter(ProductFilterKey.of(otherFilter)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação fora da lista permitida")
+    void fromPropertyNotAllowed() {
+        assertEquals(ProductSortKey.PRICE, ProductSortKey.fromProperty("price"));
+        assertThrows(BusinessException.class, () -> ProductSortKey.fromProperty("description"));
+    }
+}
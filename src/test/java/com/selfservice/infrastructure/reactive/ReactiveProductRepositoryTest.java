@@ -0,0 +1,67 @@
+package com.selfservice.infrastructure.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.infrastructure.exception.BusinessException;
+
+class ReactiveProductRepositoryTest {
+
+    @Test
+    @DisplayName("Deve montar o WHERE com parâmetros nomeados para cada filtro informado")
+    void whereWithFilters() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setName("Pizza");
+        filter.setMaxPrice(new BigDecimal("50.00"));
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // Act
+        String where = ReactiveProductRepository.where(filter, parameters);
+
+        // Assert
+        assertEquals(" WHERE lower(p.name) LIKE :name AND p.price <= :maxPrice", where);
+        assertEquals("%pizza%", parameters.get("name"));
+        assertEquals(new BigDecimal("50.00"), parameters.get("maxPrice"));
+    }
+
+    @Test
+    @DisplayName("Deve omitir o WHERE quando não há filtros")
+    void whereWithoutFilters() {
+        // Arrange
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // Act
+        String where = ReactiveProductRepository.where(new ProductFilterDTO(), parameters);
+
+        // Assert
+        assertEquals("", where);
+        assertTrue(parameters.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar pela lista permitida com desempate por id")
+    void orderBy() {
+        // Act
+        String orderBy = ReactiveProductRepository.orderBy(new ProductFilterDTO(), Sort.by(Sort.Direction.DESC, "price"));
+
+        // Assert
+        assertEquals(" ORDER BY p.price DESC, p.id", orderBy);
+    }
+
+    @Test
+    @DisplayName("Deve recusar ordenação por relevância sem busca textual")
+    void orderByRelevanceWithoutSearch() {
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> ReactiveProductRepository.orderBy(new ProductFilterDTO(), Sort.by("relevance")));
+    }
+}
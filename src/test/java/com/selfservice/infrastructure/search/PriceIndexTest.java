@@ -0,0 +1,150 @@
+package com.selfservice.infrastructure.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.repository.ProductRepository;
+
+class PriceIndexTest {
+
+    private ProductRepository productRepository;
+    private PriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllPrices()).thenReturn(List.of(
+                new Object[] {3L, new BigDecimal("6.50")},
+                new Object[] {4L, new BigDecimal("12.00")},
+                new Object[] {5L, new BigDecimal("30.00")},
+                new Object[] {2L, new BigDecimal("40.90")},
+                new Object[] {1L, new BigDecimal("45.90")}));
+        index = new PriceIndex(productRepository, true);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve retornar ids e total de uma faixa com limites inclusivos")
+    void rangeInclusive() {
+        // Act
+        PriceIndex.Range range = index.range(new BigDecimal("12"), new BigDecimal("40.90"),
+                Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[] {4L, 5L, 2L}, range.ids());
+        assertEquals(3, range.total());
+    }
+
+    @Test
+    @DisplayName("Deve paginar a faixa em ordem decrescente de preço")
+    void rangeDescendingPaged() {
+        // Act
+        PriceIndex.Range range = index.range(null, new BigDecimal("30"), Sort.Direction.DESC, 1, 2);
+
+        // Assert
+        assertArrayEquals(new long[] {4L, 3L}, range.ids());
+        assertEquals(3, range.total());
+    }
+
+    @Test
+    @DisplayName("Deve retornar faixa vazia quando nenhum preço se encaixa")
+    void rangeEmpty() {
+        // Act
+        PriceIndex.Range range = index.range(new BigDecimal("100"), null, Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertEquals(0, range.ids().length);
+        assertEquals(0, range.total());
+    }
+
+    @Test
+    @DisplayName("Deve tratar limites fora do alcance de long como faixa vazia ou inteira")
+    void rangeOutOfBounds() {
+        // Act
+        PriceIndex.Range aboveAll = index.range(new BigDecimal("1e20"), null, Sort.Direction.ASC, 0, 10);
+        PriceIndex.Range belowAll = index.range(null, new BigDecimal("-1e20"), Sort.Direction.ASC, 0, 10);
+        PriceIndex.Range everything = index.range(new BigDecimal("-1e20"), new BigDecimal("1e20"),
+                Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertEquals(0, aboveAll.total());
+        assertEquals(0, belowAll.total());
+        assertEquals(5, everything.total());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o índice incrementalmente a partir dos eventos")
+    void onProductChanged() {
+        // Arrange
+        Product product = new Product();
+        product.setId(1L);
+        product.setPrice(new BigDecimal("9.99"));
+
+        // Act
+        index.onProductChanged(ProductChangedEvent.saved(product));
+        index.onProductChanged(ProductChangedEvent.deleted(3L));
+        PriceIndex.Range range = index.range(null, new BigDecimal("30"), Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[] {1L, 4L, 5L}, range.ids());
+    }
+
+    @Test
+    @DisplayName("Deve remover pelo par (preço, id) entre produtos de mesmo preço")
+    void removesAmongEqualPrices() {
+        // Arrange
+        for (long id = 6; id <= 9; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setPrice(new BigDecimal("12.00"));
+            index.onProductChanged(ProductChangedEvent.saved(product));
+        }
+        Product moved = new Product();
+        moved.setId(7L);
+        moved.setPrice(new BigDecimal("1.00"));
+
+        // Act
+        index.onProductChanged(ProductChangedEvent.saved(moved));
+        index.onProductChanged(ProductChangedEvent.deleted(8L));
+        index.onProductChanged(ProductChangedEvent.deleted(99L));
+        PriceIndex.Range range = index.range(null, new BigDecimal("12"), Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[] {7L, 3L, 4L, 6L, 9L}, range.ids());
+        assertEquals(5, range.total());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar sobre a carga nova os eventos recebidos durante o rebuild")
+    void rebuildReplaysEventsReceivedWhileLoading() {
+        // Arrange
+        Product product = new Product();
+        product.setId(3L);
+        product.setPrice(new BigDecimal("50.00"));
+        when(productRepository.findAllPrices()).thenAnswer(invocation -> {
+            // A escrita chega depois da leitura: a carga ainda tem o preço antigo do produto 3
+            List<Object[]> snapshot = List.of(
+                    new Object[] {3L, new BigDecimal("6.50")},
+                    new Object[] {4L, new BigDecimal("12.00")});
+            index.onProductChanged(ProductChangedEvent.saved(product));
+            return snapshot;
+        });
+
+        // Act
+        index.rebuild();
+        PriceIndex.Range range = index.range(null, null, Sort.Direction.ASC, 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[] {4L, 3L}, range.ids());
+    }
+}
@@ -0,0 +1,230 @@
+package com.selfservice.infrastructure.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.selfservice.application.dto.product.ProductFilterDTO;
+import com.selfservice.application.dto.product.ProductResponseDTO;
+import com.selfservice.domain.entity.Product;
+import com.selfservice.domain.event.ProductChangedEvent;
+import com.selfservice.infrastructure.exception.BusinessException;
+import com.selfservice.infrastructure.repository.ProductRepository;
+
+class ProductSearchIndexTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllProjected()).thenReturn(List.of(
+                response(1L, "Pizza Margherita", "Pizza tradicional italiana", "45.90"),
+                response(2L, "Pizza Calabresa", "Pizza com calabresa e cebola", "40.90"),
+                response(3L, "Refrigerante", "Lata 350ml", "6.50"),
+                response(4L, "Pão de Queijo", "Porção com queijo minas", "12.00")));
+        index = new ProductSearchIndex(productRepository, "memory");
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve ficar indisponível quando o motor configurado é o banco")
+    void disabledWhenEngineIsDatabase() {
+        // Arrange
+        ProductSearchIndex disabled = new ProductSearchIndex(productRepository, "database");
+
+        // Act
+        disabled.rebuild();
+
+        // Assert
+        assertFalse(disabled.isAvailable());
+        assertTrue(index.isAvailable());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por relevância com nome pesando mais que descrição")
+    void searchRanksByRelevance() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch("calabresa");
+
+        // Act
+        Page<ProductResponseDTO> result = index.search(filter, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(2L, result.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Deve casar por prefixo e ignorar acentos")
+    void searchMatchesPrefixWithoutAccents() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch("pao que");
+
+        // Act
+        Page<ProductResponseDTO> result = index.search(filter, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(4L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Deve intersectar busca textual com faixa de preço")
+    void searchWithPriceRange() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch("pizza");
+        filter.setMaxPrice(new BigDecimal("42"));
+
+        // Act
+        Page<ProductResponseDTO> result = index.search(filter, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(2L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar nome e descrição por trecho como o LIKE do banco")
+    void nameAndDescriptionFilterLikeDatabase() {
+        // Arrange
+        ProductFilterDTO inside = new ProductFilterDTO();
+        inside.setName("IZZ");
+        ProductFilterDTO accent = new ProductFilterDTO();
+        accent.setName("pao");
+        ProductFilterDTO wildcard = new ProductFilterDTO();
+        wildcard.setDescription("com%cebola");
+
+        // Act
+        Page<ProductResponseDTO> insideResult = index.search(inside, PageRequest.of(0, 10, Sort.by("id")));
+        Page<ProductResponseDTO> accentResult = index.search(accent, PageRequest.of(0, 10));
+        Page<ProductResponseDTO> wildcardResult = index.search(wildcard, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(insideResult));
+        // LIKE não ignora acentos: "pao" não casa com "Pão"
+        assertEquals(0, accentResult.getTotalElements());
+        assertEquals(List.of(2L), ids(wildcardResult));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar faixa de preço com limites inclusivos e refletir novos preços")
+    void priceRangeInclusive() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMinPrice(new BigDecimal("12.00"));
+        filter.setMaxPrice(new BigDecimal("40.90"));
+        index.onProductChanged(ProductChangedEvent.saved(product(3L, "Refrigerante", "Lata 350ml", "20.00")));
+
+        // Act
+        Page<ProductResponseDTO> result = index.search(filter, PageRequest.of(0, 10, Sort.by("price")));
+
+        // Assert
+        assertEquals(List.of(4L, 3L, 2L), ids(result));
+        assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve paginar respeitando a ordenação solicitada")
+    void searchSortedAndPaged() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+
+        // Act
+        Page<ProductResponseDTO> result = index.search(filter, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "price")));
+
+        // Assert
+        assertEquals(4, result.getTotalElements());
+        assertEquals(List.of(4L, 3L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Deve devolver página vazia com o total quando o offset passa dos resultados")
+    void searchBeyondLastPage() {
+        // Act
+        Page<ProductResponseDTO> result = index.search(new ProductFilterDTO(), PageRequest.of(3, 2, Sort.by("name")));
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(4, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve refletir alterações e remoções recebidas por evento")
+    void onProductChanged() {
+        // Arrange
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch("pizza");
+
+        // Act
+        index.onProductChanged(ProductChangedEvent.saved(
+                product(3L, "Pizza Portuguesa", "Pizza com ovo e presunto", "48.00")));
+        index.onProductChanged(ProductChangedEvent.deleted(1L));
+        Page<ProductResponseDTO> result = index.search(filter, PageRequest.of(0, 10, Sort.by("id")));
+
+        // Assert
+        assertEquals(List.of(2L, 3L), ids(result));
+        assertEquals("Pizza Portuguesa", result.getContent().get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar sobre a carga nova os eventos recebidos durante o rebuild")
+    void rebuildReplaysEventsReceivedWhileLoading() {
+        // Arrange
+        when(productRepository.findAllProjected()).thenAnswer(invocation -> {
+            // A escrita chega depois da leitura: a carga ainda tem o produto 3 antigo
+            List<ProductResponseDTO> snapshot = List.of(
+                    response(2L, "Pizza Calabresa", "Pizza com calabresa e cebola", "40.90"),
+                    response(3L, "Refrigerante", "Lata 350ml", "6.50"));
+            index.onProductChanged(ProductChangedEvent.saved(
+                    product(3L, "Pizza Portuguesa", "Pizza com ovo e presunto", "48.00")));
+            return snapshot;
+        });
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setSearch("pizza");
+
+        // Act
+        index.rebuild();
+        Page<ProductResponseDTO> result = index.search(filter, PageRequest.of(0, 10, Sort.by("id")));
+
+        // Assert
+        assertEquals(List.of(2L, 3L), ids(result));
+        assertEquals("Pizza Portuguesa", result.getContent().get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao ordenar por relevância sem busca")
+    void relevanceWithoutSearch() {
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> index.search(new ProductFilterDTO(), PageRequest.of(0, 10, Sort.by("relevance"))));
+    }
+
+    private static List<Long> ids(Page<ProductResponseDTO> page) {
+        return page.getContent().stream().map(ProductResponseDTO::getId).toList();
+    }
+
+    private static ProductResponseDTO response(Long id, String name, String description, String price) {
+        return new ProductResponseDTO(id, name, description, new BigDecimal(price));
+    }
+
+    private static Product product(Long id, String name, String description, String price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+}
@@ -0,0 +1,29 @@
+package com.selfservice.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BCryptCostCalibratorTest {
+
+    private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+    @Test
+    @DisplayName("Deve escolher o maior custo cujo tempo extrapolado cabe no alvo")
+    void costFor() {
+        // Act & Assert: 50 ms no custo 10 → 100 (11), 200 (12), 400 (13)
+        assertEquals(12, BCryptCostCalibrator.costFor(50 * MILLI, 250 * MILLI));
+        assertEquals(13, BCryptCostCalibrator.costFor(50 * MILLI, 400 * MILLI));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar os custos mínimo e máximo")
+    void costForBounds() {
+        // Act & Assert
+        assertEquals(BCryptCostCalibrator.MIN_COST, BCryptCostCalibrator.costFor(500 * MILLI, 250 * MILLI));
+        assertEquals(BCryptCostCalibrator.MAX_COST, BCryptCostCalibrator.costFor(MILLI, Duration.ofMinutes(1).toNanos()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.selfservice.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.selfservice.infrastructure.exception.ServiceOverloadedException;
+
+class BulkheadPasswordEncoderTest {
+
+    private BulkheadPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Deve calcular e verificar o hash no pool isolado")
+    void encodeAndMatch() {
+        // Arrange
+        encoder = new BulkheadPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(2));
+
+        // Act
+        String hash = encoder.encode("senha123");
+
+        // Assert
+        assertTrue(encoder.matches("senha123", hash));
+        assertFalse(encoder.matches("outra", hash));
+    }
+
+    @Test
+    @DisplayName("Deve recusar com Retry-After quando threads e fila estão ocupadas")
+    void rejectWhenSaturated() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BulkheadPasswordEncoder(blockingEncoder(started, release), 1, 1, Duration.ofSeconds(3));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = new CompletableFuture<>();
+        Thread waiting = new Thread(() -> queued.complete(encoder.encode("b")));
+        waiting.start();
+        // Parada em Future.get(): a tarefa já está na fila
+        while (waiting.getState() != Thread.State.WAITING) {
+            Thread.sleep(5);
+        }
+
+        // Act
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class, () -> encoder.encode("c"));
+        release.countDown();
+
+        // Assert
+        assertEquals(Duration.ofSeconds(3), ex.getRetryAfter());
+        assertEquals("hash-a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash-b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve indicar rehash quando o custo gravado é menor que o configurado")
+    void upgradeEncoding() {
+        // Arrange
+        encoder = new BulkheadPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(2));
+        String weaker = new BCryptPasswordEncoder(4).encode("senha123");
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("senha123")));
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+}
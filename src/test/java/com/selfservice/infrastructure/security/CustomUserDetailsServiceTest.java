@@ -0,0 +1,59 @@
+package com.selfservice.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selfservice.domain.entity.Role;
+import com.selfservice.domain.entity.User;
+import com.selfservice.infrastructure.cache.UserCache;
+import com.selfservice.infrastructure.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    @DisplayName("Deve gravar o hash novo sem alterar o usuário compartilhado pelo cache")
+    void updatePasswordReturnsCopy() {
+        // Arrange
+        User cached = User.builder()
+                .id(1L)
+                .name("Test User")
+                .email("test@test.com")
+                .password("oldHash")
+                .roles(Set.of(Role.CUSTOMER))
+                .enabled(true)
+                .build();
+
+        // Act
+        UserDetails updated = userDetailsService.updatePassword(cached, "newHash");
+
+        // Assert
+        assertNotSame(cached, updated);
+        assertEquals("newHash", updated.getPassword());
+        assertEquals("oldHash", cached.getPassword());
+        assertEquals(cached.getAuthorities(), updated.getAuthorities());
+        verify(userRepository).updatePassword(eq(1L), eq("newHash"), any());
+        verify(userCache).evict("test@test.com");
+    }
+}
@@ -0,0 +1,161 @@
+package com.selfservice.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.selfservice.domain.entity.Role;
+import com.selfservice.domain.entity.User;
+
+import jakarta.servlet.ServletException;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(tokenProvider, 100);
+    private final TokenRevocationList revocationList = mock(TokenRevocationList.class);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 3600000);
+        tokenProvider.init();
+
+        user = User.builder()
+                .id(1L)
+                .name("Admin")
+                .email("admin@test.com")
+                .password("password123")
+                .roles(Set.of(Role.ADMIN, Role.CUSTOMER))
+                .enabled(true)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve autenticar pelas claims do token sem consultar o usuário")
+    void authenticatesFromClaims() throws ServletException, IOException {
+        // Arrange
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(verifiedTokens, revocationList, userDetailsService, "claims");
+
+        // Act
+        filter.doFilter(request("/products"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("admin@test.com", authentication.getName());
+        List<GrantedAuthority> expected = RoleAuthorities.of(Set.of(Role.CUSTOMER, Role.ADMIN));
+        assertEquals(expected, authentication.getAuthorities());
+        assertSame(expected.get(0), authentication.getAuthorities().iterator().next());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o usuário a cada requisição no modo database")
+    void authenticatesFromDatabase() throws ServletException, IOException {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("admin@test.com")).thenReturn(user);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(verifiedTokens, revocationList, userDetailsService, "database");
+
+        // Act
+        filter.doFilter(request("/products"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertSame(user, authentication.getPrincipal());
+        verify(userDetailsService).loadUserByUsername("admin@test.com");
+    }
+
+    @Test
+    @DisplayName("Não deve processar o token em caminhos públicos")
+    void skipsPublicPaths() throws ServletException, IOException {
+        // Arrange
+        VerifiedTokenCache tokens = spy(verifiedTokens);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokens, revocationList, userDetailsService, "claims");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request("/auth/login"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(tokens, never()).verify(anyString());
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar com token revogado")
+    void ignoresRevokedToken() throws ServletException, IOException {
+        // Arrange
+        when(revocationList.isRevoked(anyString())).thenReturn(true);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(verifiedTokens, revocationList, userDetailsService, "claims");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request("/products"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar com token inválido")
+    void ignoresInvalidToken() throws ServletException, IOException {
+        // Arrange
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(verifiedTokens, revocationList, userDetailsService, "claims");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader("Authorization", "Bearer invalid.token.here");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a mesma lista de authorities para os mesmos papéis")
+    void internsAuthorities() {
+        // Act
+        List<GrantedAuthority> fromRoles = RoleAuthorities.of(Set.of(Role.ADMIN));
+        List<GrantedAuthority> fromClaim = RoleAuthorities.fromClaim(List.of("ADMIN"));
+
+        // Assert
+        assertSame(fromRoles, fromClaim);
+        assertEquals("ROLE_ADMIN", fromRoles.get(0).getAuthority());
+        assertTrue(RoleAuthorities.fromClaim(null).isEmpty());
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateToken(user));
+        return request;
+    }
+}
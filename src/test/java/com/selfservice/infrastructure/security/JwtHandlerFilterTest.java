@@ -0,0 +1,111 @@
+package com.selfservice.infrastructure.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.selfservice.domain.entity.Role;
+import com.selfservice.domain.entity.User;
+
+class JwtHandlerFilterTest {
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(tokenProvider, 100);
+    private final TokenRevocationList revocationList = mock(TokenRevocationList.class);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 3600000);
+        tokenProvider.init();
+
+        token = tokenProvider.generateToken(User.builder()
+                .id(1L)
+                .name("Kiosk")
+                .email("kiosk@test.com")
+                .roles(Set.of(Role.CUSTOMER))
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve atender a requisição com token válido")
+    void allowsValidToken() {
+        // Act & Assert
+        client("claims").get().uri("/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Deve responder 403 sem token, como o Tomcat")
+    void rejectsMissingToken() {
+        // Act & Assert
+        client("claims").get().uri("/products").exchange()
+                .expectStatus().isForbidden()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve responder 403 com token inválido")
+    void rejectsInvalidToken() {
+        // Act & Assert
+        client("claims").get().uri("/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer invalid.token.here")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("Deve responder 403 com token revogado")
+    void rejectsRevokedToken() {
+        // Arrange
+        when(revocationList.isRevoked(any())).thenReturn(true);
+
+        // Act & Assert
+        client("claims").get().uri("/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("Deve responder 403 no modo database quando o usuário não existe mais")
+    void rejectsMissingUserInDatabaseMode() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("kiosk@test.com"))
+                .thenThrow(new UsernameNotFoundException("kiosk@test.com"));
+
+        // Act & Assert
+        client("database").get().uri("/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private WebTestClient client(String authenticationSource) {
+        JwtHandlerFilter filter = new JwtHandlerFilter(
+                verifiedTokens, revocationList, userDetailsService, authenticationSource);
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/products", request -> ServerResponse.ok().build())
+                .build()
+                .filter(filter);
+        return WebTestClient.bindToRouterFunction(routes).build();
+    }
+}
@@ -2,6 +2,8 @@ package com.selfservice.infrastructure.security;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,8 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.selfservice.domain.entity.Role;
 import com.selfservice.domain.entity.User;
 
+import io.jsonwebtoken.Claims;
+
 class JwtTokenProviderTest {
 
     private JwtTokenProvider tokenProvider;
@@ -77,4 +81,39 @@ class JwtTokenProviderTest {
         // Act & Assert
         assertFalse(tokenProvider.validateToken(invalidToken));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve devolver as claims do token num único parse")
+    void parseClaims() {
+        // Arrange
+        String token = tokenProvider.generateToken(user);
+
+        // Act
+        Optional<Claims> claims = tokenProvider.parseClaims(token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals(user.getEmail(), claims.get().getSubject());
+        assertEquals(user.getName(), claims.get().get(JwtTokenProvider.NAME_CLAIM));
+        assertEquals(List.of("CUSTOMER"), claims.get().get(JwtTokenProvider.ROLES_CLAIM));
+    }
+
+    @Test
+    @DisplayName("Deve devolver vazio ao extrair claims de token inválido")
+    void parseInvalidClaims() {
+        // Act & Assert
+        assertTrue(tokenProvider.parseClaims("invalid.token.here").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve gerar um jti diferente para cada token")
+    void generatesUniqueJti() {
+        // Act
+        String first = tokenProvider.parseClaims(tokenProvider.generateToken(user)).orElseThrow().getId();
+        String second = tokenProvider.parseClaims(tokenProvider.generateToken(user)).orElseThrow().getId();
+
+        // Assert
+        assertNotNull(first);
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,109 @@
+package com.selfservice.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selfservice.domain.entity.RevokedToken;
+import com.selfservice.infrastructure.repository.RevokedTokenRepository;
+
+class TokenRevocationListTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final TokenRevocationList revocationList =
+            new TokenRevocationList(repository, 4, 0.01, Duration.ofSeconds(30));
+
+    @Test
+    @DisplayName("Deve recusar um token revogado e aceitar os demais")
+    void revokesToken() {
+        // Act
+        revocationList.revoke("revoked", LocalDateTime.now().plusHours(1));
+
+        // Assert
+        assertTrue(revocationList.isRevoked("revoked"));
+        assertFalse(revocationList.isRevoked("active"));
+        assertFalse(revocationList.isRevoked(null));
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Deve continuar recusando os tokens quando a lista passa do tamanho previsto")
+    void growsBeyondExpectedTokens() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        List<String> jtis = IntStream.range(0, 100)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        // Act
+        jtis.forEach(jti -> revocationList.revoke(jti, expiresAt));
+
+        // Assert
+        assertTrue(jtis.stream().allMatch(revocationList::isRevoked));
+        assertEquals(100, revocationList.size());
+    }
+
+    @Test
+    @DisplayName("Deve carregar revogações feitas por outras instâncias")
+    void refreshesFromDatabase() {
+        // Arrange
+        when(repository.findByRevokedAtAfter(any())).thenReturn(List.of(RevokedToken.builder()
+                .jti("elsewhere")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .revokedAt(LocalDateTime.now())
+                .build()));
+
+        // Act
+        revocationList.refresh();
+
+        // Assert
+        assertTrue(revocationList.isRevoked("elsewhere"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar revogações de tokens já expirados")
+    void purgesExpired() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        revocationList.revoke("expired", now.minusMinutes(1));
+        revocationList.revoke("active", now.plusHours(1));
+
+        // Act
+        revocationList.purge(now);
+
+        // Assert
+        assertFalse(revocationList.isRevoked("expired"));
+        assertTrue(revocationList.isRevoked("active"));
+        assertEquals(1, revocationList.size());
+        verify(repository).deleteExpired(now);
+    }
+
+    @Test
+    @DisplayName("Filtro de Bloom não deve ter falsos negativos e deve respeitar a taxa de falsos positivos")
+    void bloomFilterRates() {
+        // Arrange
+        BloomFilter bloom = new BloomFilter(1000, 0.01);
+        List<String> inserted = IntStream.range(0, 1000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+        inserted.forEach(bloom::put);
+
+        // Act
+        long falsePositives = IntStream.range(0, 10000)
+                .filter(i -> bloom.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        // Assert
+        assertTrue(inserted.stream().allMatch(bloom::mightContain));
+        assertTrue(falsePositives < 300, "falsos positivos: " + falsePositives);
+    }
+}
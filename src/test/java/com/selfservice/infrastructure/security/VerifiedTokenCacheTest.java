@@ -0,0 +1,106 @@
+package com.selfservice.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.selfservice.domain.entity.Role;
+import com.selfservice.domain.entity.User;
+import com.selfservice.infrastructure.security.VerifiedTokenCache.VerifiedToken;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache cache;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = spy(new JwtTokenProvider());
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 3600000); // 1 hora
+        tokenProvider.init();
+        cache = new VerifiedTokenCache(tokenProvider, 100, nanos::get);
+
+        token = tokenProvider.generateToken(User.builder()
+                .id(1L)
+                .name("Test User")
+                .email("test@test.com")
+                .roles(Set.of(Role.CUSTOMER))
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve verificar o token uma única vez e servir as demais requisições do cache")
+    void verifiesOnce() {
+        // Act
+        Optional<VerifiedToken> first = cache.verify(token);
+        Optional<VerifiedToken> second = cache.verify(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertSame(first.get().authentication(), second.get().authentication());
+        assertEquals("test@test.com", second.get().authentication().getName());
+        verify(tokenProvider, times(1)).parseClaims(token);
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Deve verificar de novo depois que o token expira")
+    void expiresWithToken() {
+        // Arrange
+        cache.verify(token);
+
+        // Act
+        nanos.addAndGet(Duration.ofHours(1).plusSeconds(1).toNanos());
+        cache.verify(token);
+
+        // Assert
+        verify(tokenProvider, times(2)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar tokens inválidos")
+    void doesNotCacheInvalidTokens() {
+        // Act
+        Optional<VerifiedToken> first = cache.verify("invalid.token.here");
+        Optional<VerifiedToken> second = cache.verify("invalid.token.here");
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        verify(tokenProvider, times(2)).parseClaims("invalid.token.here");
+    }
+
+    @Test
+    @DisplayName("Deve publicar o tempo de verificação poupado pelos acertos")
+    void publishesSavedTime() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // Act
+        cache.verify(token);
+        cache.verify(token);
+
+        // Assert
+        double spent = registry.get("jwt.verification.time").functionCounter().count();
+        double saved = registry.get("jwt.verification.saved").functionCounter().count();
+        assertTrue(spent > 0);
+        assertEquals(spent, saved, 1e-9);
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", VerifiedTokenCache.NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+}